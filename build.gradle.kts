@@ -46,6 +46,7 @@ dependencies {
 
     implementation("info.picocli:picocli:4.1.4")
     implementation("commons-io:commons-io:2.6")
+    implementation("org.apache.commons:commons-compress:1.20")
 
     testImplementation("junit:junit:4.12")
 }
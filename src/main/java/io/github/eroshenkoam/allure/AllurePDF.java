@@ -6,6 +6,7 @@ public class AllurePDF {
 
     public static void main(String[] args) {
         final CommandLine cmd = new CommandLine(new MainCommand());
+        cmd.setCaseInsensitiveEnumValuesAllowed(true);
         final CommandLine.ParseResult parseResult = cmd.parseArgs(args);
         if (!parseResult.errors().isEmpty()) {
             System.out.println(cmd.getUsageMessage());
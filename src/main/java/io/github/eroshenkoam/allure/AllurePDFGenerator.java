@@ -1,6 +1,5 @@
 package io.github.eroshenkoam.allure;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.lowagie.text.Chunk;
 import com.lowagie.text.Document;
 import com.lowagie.text.Element;
@@ -9,30 +8,80 @@ import com.lowagie.text.ListItem;
 import com.lowagie.text.PageSize;
 import com.lowagie.text.Paragraph;
 import com.lowagie.text.Phrase;
+import com.lowagie.text.pdf.PdfCopy;
+import com.lowagie.text.pdf.PdfReader;
+import com.lowagie.text.pdf.PdfSmartCopy;
+import com.lowagie.text.pdf.PdfStamper;
 import com.lowagie.text.pdf.PdfWriter;
+import com.lowagie.text.pdf.RandomAccessFileOrArray;
+import io.github.eroshenkoam.allure.attachment.AttachmentAppendix;
+import io.github.eroshenkoam.allure.attachment.AttachmentLimits;
+import io.github.eroshenkoam.allure.attachment.EmbeddedAttachments;
+import io.github.eroshenkoam.allure.attachment.ImageAttachments;
+import io.github.eroshenkoam.allure.attachment.TextAttachments;
+import io.github.eroshenkoam.allure.cache.ResultCache;
+import io.github.eroshenkoam.allure.index.FixtureIndex;
+import io.github.eroshenkoam.allure.index.LatestAttempts;
+import io.github.eroshenkoam.allure.index.ResultIndex;
+import io.github.eroshenkoam.allure.index.ResultOrder;
+import io.github.eroshenkoam.allure.index.SortedIds;
+import io.github.eroshenkoam.allure.parser.LabelFilter;
+import io.github.eroshenkoam.allure.parser.ParsedResult;
+import io.github.eroshenkoam.allure.parser.ResultFile;
+import io.github.eroshenkoam.allure.parser.ResultProjectionParser;
+import io.github.eroshenkoam.allure.parser.ResultSummary;
+import io.github.eroshenkoam.allure.parser.ResultSummaryParser;
+import io.github.eroshenkoam.allure.pipeline.ConcatIterator;
+import io.github.eroshenkoam.allure.pipeline.OrderedPipeline;
+import io.github.eroshenkoam.allure.source.ResultSource;
+import io.github.eroshenkoam.allure.source.ResultSources;
+import io.github.eroshenkoam.allure.source.ResultStamp;
+import io.github.eroshenkoam.allure.source.ResultWatcher;
+import io.github.eroshenkoam.allure.source.ResultsScanner;
 import io.github.eroshenkoam.allure.util.PdfUtil;
+import io.github.eroshenkoam.allure.util.StreamingTable;
 import io.qameta.allure.model.Attachment;
+import io.qameta.allure.model.FixtureResult;
 import io.qameta.allure.model.Label;
+import io.qameta.allure.model.Parameter;
 import io.qameta.allure.model.StatusDetails;
 import io.qameta.allure.model.StepResult;
 import io.qameta.allure.model.TestResult;
+import io.qameta.allure.model.TestResultContainer;
+import io.qameta.allure.model.WithAttachments;
+import io.qameta.allure.model.WithSteps;
 import org.apache.commons.collections4.CollectionUtils;
-import org.apache.commons.io.IOUtils;
+import org.apache.commons.collections4.IteratorUtils;
+import org.apache.commons.io.FileUtils;
 
+import java.awt.Color;
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.charset.StandardCharsets;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFileAttributeView;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static io.github.eroshenkoam.allure.FontHolder.loadArialFont;
 import static io.github.eroshenkoam.allure.util.PdfUtil.addEmptyLine;
@@ -44,16 +93,54 @@ public class AllurePDFGenerator {
 
     private static final DateFormat DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd HH:mm:ssZ");
 
+    private static final int QUEUE_SIZE_PER_THREAD = 4;
+
+    private static final String RESULT_SUFFIX = "-result.json";
+    private static final String CONTAINER_SUFFIX = "-container.json";
+    private static final String RESULTS_INFO = "Results";
+    private static final int DEFAULT_RENDER_CHUNK_SIZE = 500;
+    private static final int DEFAULT_TABLE_BATCH_SIZE = 200;
+
+    private static final int DEFAULT_ORDER_BUFFER_SIZE = 100_000;
+
     private final String reportName;
-    private final Path reportPath;
+    private final List<Path> reportPaths;
     private final Map<String, String> filter;
     private final StatusColors statusColors;
 
+    private int threads;
+    private int maxDepth;
+    private Path cachePath;
+    private ResultOrder order;
+    private int orderBufferSize;
+    private boolean skipRetries;
+    private long watchDebounce;
+    private boolean append;
+    private int renderChunkSize;
+    private int tableBatchSize;
+    private AttachmentLimits attachmentLimits;
+    private boolean attachmentTail;
+    private int imageDpi;
+    private boolean embedAttachments;
+    private boolean attachmentAppendix;
+
     public AllurePDFGenerator(final String reportName, final Path reportPath, final StatusColors statusColors) {
+        this(reportName, Collections.singletonList(reportPath), statusColors);
+    }
+
+    public AllurePDFGenerator(final String reportName, final List<Path> reportPaths, final StatusColors statusColors) {
         this.filter = new HashMap<>();
         this.reportName = reportName;
-        this.reportPath = reportPath;
+        this.reportPaths = new ArrayList<>(reportPaths);
         this.statusColors = statusColors;
+        this.threads = Runtime.getRuntime().availableProcessors();
+        this.maxDepth = ResultsScanner.UNLIMITED_DEPTH;
+        this.order = ResultOrder.START;
+        this.orderBufferSize = DEFAULT_ORDER_BUFFER_SIZE;
+        this.renderChunkSize = DEFAULT_RENDER_CHUNK_SIZE;
+        this.tableBatchSize = DEFAULT_TABLE_BATCH_SIZE;
+        this.attachmentLimits = AttachmentLimits.defaults();
+        this.imageDpi = ImageAttachments.DEFAULT_DPI;
     }
 
     public void filter(final Map<String, String> tags) {
@@ -62,13 +149,89 @@ public class AllurePDFGenerator {
         }
     }
 
-    public void generate(final Path outputPath) throws IOException {
-        if (!Files.isDirectory(reportPath)) {
-            log("Input [%s] is not directory", reportPath.toAbsolutePath());
-            return;
+    public void threads(final int threads) {
+        if (threads > 0) {
+            this.threads = threads;
         }
-        if (Files.notExists(reportPath)) {
-            log("Results directory [%s] does not exists", reportPath.toAbsolutePath());
+    }
+
+    public void maxDepth(final int maxDepth) {
+        if (maxDepth > 0) {
+            this.maxDepth = maxDepth;
+        }
+    }
+
+    public void cache(final Path cachePath) {
+        this.cachePath = cachePath;
+    }
+
+    public void order(final ResultOrder order) {
+        if (Objects.nonNull(order)) {
+            this.order = order;
+        }
+    }
+
+    public void orderBufferSize(final int orderBufferSize) {
+        if (orderBufferSize > 0) {
+            this.orderBufferSize = orderBufferSize;
+        }
+    }
+
+    public void renderChunkSize(final int renderChunkSize) {
+        if (renderChunkSize > 0) {
+            this.renderChunkSize = renderChunkSize;
+        }
+    }
+
+    public void tableBatchSize(final int tableBatchSize) {
+        if (tableBatchSize > 0) {
+            this.tableBatchSize = tableBatchSize;
+        }
+    }
+
+    public void attachmentLimits(final AttachmentLimits attachmentLimits) {
+        if (Objects.nonNull(attachmentLimits)) {
+            this.attachmentLimits = attachmentLimits;
+        }
+    }
+
+    public void attachmentTail(final boolean attachmentTail) {
+        this.attachmentTail = attachmentTail;
+    }
+
+    public void embedAttachments(final boolean embedAttachments) {
+        this.embedAttachments = embedAttachments;
+    }
+
+    public void attachmentAppendix(final boolean attachmentAppendix) {
+        this.attachmentAppendix = attachmentAppendix;
+    }
+
+    public void imageDpi(final int imageDpi) {
+        if (imageDpi > 0) {
+            this.imageDpi = imageDpi;
+        }
+    }
+
+    public void skipRetries(final boolean skipRetries) {
+        this.skipRetries = skipRetries;
+    }
+
+    public void watch(final long debounceMillis) {
+        if (debounceMillis > 0) {
+            this.watchDebounce = debounceMillis;
+        }
+    }
+
+    public void append(final boolean append) {
+        this.append = append;
+    }
+
+    public void generate(final Path outputPath) throws IOException {
+        final List<Path> inputs = reportPaths.stream()
+                .filter(this::isResultsInput)
+                .collect(Collectors.toList());
+        if (inputs.isEmpty()) {
             return;
         }
 
@@ -77,38 +240,583 @@ public class AllurePDFGenerator {
             Files.createFile(outputPath);
         }
 
-        final FontHolder fontHolder = loadArialFont();
-        final List<Path> files = Files.walk(reportPath)
-                .filter(s -> s.toString().endsWith("-result.json"))
-                .collect(Collectors.toList());
-        log("Found [%s] rest results ...", files.size());
+        final List<ResultSource> opened = Collections.synchronizedList(new ArrayList<>());
+        try {
+            final List<ResultSource> sources = openSources(inputs, opened);
+            try (ResultIndex index = new ResultIndex()) {
+                final ReportContext context = new ReportContext(
+                        sources, index, skipRetries ? new LatestAttempts(index) : null, openCache(), loadArialFont()
+                );
+                if (watchDebounce > 0) {
+                    watch(outputPath, context);
+                    return;
+                }
+                final ReportManifest.Existing existing = append ? readManifest(outputPath) : null;
+                final AtomicLong found = new AtomicLong();
+                final Iterator<ResultFile> files = allResultFiles(sources, found);
+                buildIndex(Objects.isNull(existing) ? files : IteratorUtils.filteredIterator(
+                        files, file -> isContainer(file) || !existing.contains(ResultSources.baseName(file.getEntry()))
+                ), context, null);
+                log("Found [%s] rest results ...", found.get());
+                logSelected(context);
+                if (Objects.nonNull(existing)) {
+                    appendDocument(outputPath, existing, context);
+                    return;
+                }
+                try (ReportManifest manifest = append ? ReportManifest.create() : null) {
+                    writeDocument(outputPath, context, manifest, false);
+                }
+            }
+        } finally {
+            closeSources(opened);
+        }
+    }
 
-        try (final Document document = new Document(PageSize.A4)) {
-            PdfWriter.getInstance(document, Files.newOutputStream(outputPath));
+    private void watch(final Path outputPath, final ReportContext context) throws IOException {
+        final List<ResultSource> sources = context.getSources();
+        final WatchedFiles watched = new WatchedFiles(sources);
+        try (ResultWatcher watcher = new ResultWatcher(sources, resultsScanner(), maxDepth)) {
+            final AtomicLong found = new AtomicLong();
+            buildIndex(allResultFiles(sources, found), context, watched);
+            log("Found [%s] rest results ...", found.get());
+            logSelected(context);
+            replaceDocument(outputPath, context);
+            if (watcher.isEmpty()) {
+                log("No result directories to watch");
+                return;
+            }
+            while (true) {
+                final List<ResultFile> changed = new ArrayList<>();
+                watcher.poll(watchDebounce).forEach((source, entries) -> entries.stream()
+                        .map(entry -> new ResultFile(source, entry))
+                        .filter(watched::isNew)
+                        .forEach(changed::add));
+                changed.addAll(watched.takeFailed());
+                if (changed.isEmpty()) {
+                    continue;
+                }
+                final int before = context.getIndex().size();
+                final int read = watched.size();
+                buildIndex(changed.iterator(), context, watched);
+                if (watched.size() > read) {
+                    log("Added [%s] rest results ...", context.getIndex().size() - before);
+                    replaceDocument(outputPath, context);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void replaceDocument(final Path outputPath, final ReportContext context) throws IOException {
+        final Path target = outputPath.toAbsolutePath();
+        final Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            writeDocument(temp, context, null, false);
+            replaceFile(temp, target);
+            log("Updated output file [%s] ...", target);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private ReportManifest.Existing readManifest(final Path outputPath) throws IOException {
+        if (Files.size(outputPath) == 0) {
+            return null;
+        }
+        final PdfReader reader = new PdfReader(new RandomAccessFileOrArray(outputPath.toString()), null);
+        try {
+            final ReportManifest.Existing existing = ReportManifest.read(reader);
+            if (Objects.isNull(existing)) {
+                log("Output file [%s] has no list of results, it will be generated again", outputPath.toAbsolutePath());
+            }
+            return existing;
+        } finally {
+            reader.close();
+        }
+    }
+
+    private void appendDocument(final Path outputPath,
+                                final ReportManifest.Existing existing,
+                                final ReportContext context) throws IOException {
+        if (context.getIndex().size() == 0) {
+            log("No new rest results to append to [%s]", outputPath.toAbsolutePath());
+            return;
+        }
+        final Path target = outputPath.toAbsolutePath();
+        final Path pages = Files.createTempFile("allure-pdf-append", ".pdf");
+        final Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try (ReportManifest manifest = ReportManifest.next(existing)) {
+            writeDocument(pages, context, manifest, true);
+            final PdfReader original = new PdfReader(new RandomAccessFileOrArray(target.toString()), null);
+            final PdfReader added = new PdfReader(new RandomAccessFileOrArray(pages.toString()), null);
+            try (OutputStream output = Files.newOutputStream(temp)) {
+                final PdfStamper stamper = new PdfStamper(original, output, '\0', true);
+                final int total = original.getNumberOfPages();
+                for (int page = 1; page <= added.getNumberOfPages(); page++) {
+                    stamper.insertPage(total + page, added.getPageSizeWithRotation(page));
+                    stamper.getOverContent(total + page).addTemplate(stamper.getImportedPage(added, page), 0, 0);
+                }
+                stamper.addFileAttachment(manifest.name(), manifest.embed(stamper.getWriter()));
+                final Map<String, String> info = new HashMap<>(original.getInfo());
+                info.put(RESULTS_INFO, String.valueOf(existing.size() + manifest.size()));
+                stamper.setInfoDictionary(info);
+                stamper.close();
+            } finally {
+                added.close();
+                original.close();
+            }
+            replaceFile(temp, target);
+            log("Appended [%s] rest results to [%s] ...", manifest.size(), target);
+        } finally {
+            Files.deleteIfExists(pages);
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static void replaceFile(final Path source, final Path target) throws IOException {
+        if (Files.getFileStore(target).supportsFileAttributeView(PosixFileAttributeView.class)) {
+            Files.setPosixFilePermissions(source, Files.getPosixFilePermissions(target));
+        }
+        Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private ResultCache openCache() throws IOException {
+        if (Objects.nonNull(cachePath)) {
+            return new ResultCache(cachePath);
+        }
+        if (watchDebounce > 0) {
+            final Path directory = Files.createTempDirectory("allure-pdf-cache");
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> FileUtils.deleteQuietly(directory.toFile())));
+            return new ResultCache(directory);
+        }
+        return null;
+    }
+
+    private void logSelected(final ReportContext context) {
+        log("Selected [%s] rest results ...", context.getIndex().size());
+        if (Objects.nonNull(context.getAttempts())) {
+            log("Skipped [%s] retried rest results ...", context.getAttempts().retries());
+        }
+    }
+
+    private void writeDocument(final Path outputPath,
+                               final ReportContext context,
+                               final ReportManifest manifest,
+                               final boolean continuation) throws IOException {
+        final OutputContext output = new OutputContext(
+                new TextAttachments(attachmentLimits), new ImageAttachments(imageDpi),
+                embedAttachments, attachmentAppendix, manifest, continuation
+        );
+        prefetchAttachments(context);
+        try (SortedIds ids = order.sort(context.getIndex(), context::isSelected, orderBufferSize)) {
+            if (ids.isSpilled()) {
+                log("Sorted [%s] results on disk ...", context.getIndex().size());
+            }
+            if (threads > 1 && context.selectedCount() > renderChunkSize && !output.isAppendix()) {
+                writeChunkedDocument(outputPath, ids, context, output);
+            } else {
+                writeSingleDocument(outputPath, ids, context, output);
+            }
+        }
+    }
+
+    /**
+     * Sequential sources can only read attachments in storage order, while the report asks for them in
+     * report order. Attachments of selected results are collected first and fetched in one pass per source.
+     */
+    private void prefetchAttachments(final ReportContext context) throws IOException {
+        if (context.getSources().stream().noneMatch(ResultSource::isSequential)) {
+            return;
+        }
+        final Map<ResultSource, Set<String>> attachments = new HashMap<>();
+        final Iterator<ResultFile> files = IntStream.range(0, context.getIndex().size())
+                .filter(context::isSelected)
+                .mapToObj(context::resultFile)
+                .filter(file -> file.getSource().isSequential())
+                .iterator();
+        try (OrderedPipeline<ResultFile, ParsedResult> pipeline = new OrderedPipeline<>(
+                "allure-pdf-prefetch", threads, threads * QUEUE_SIZE_PER_THREAD)) {
+            final OrderedPipeline.Results<ParsedResult> results = pipeline.process(
+                    files, file -> readTestResult(file, context.getCache())
+            );
+            while (results.hasNext()) {
+                final ParsedResult result = results.next();
+                final String uuid = result.getResult().getUuid();
+                final Set<String> sources = attachments.computeIfAbsent(
+                        result.getFile().getSource(), source -> new HashSet<>()
+                );
+                collectAttachments(context.getFixtures().befores(uuid), sources);
+                collectAttachments(result.getResult().getSteps(), sources);
+                collectAttachments(context.getFixtures().afters(uuid), sources);
+            }
+        }
+        for (final Map.Entry<ResultSource, Set<String>> entry : attachments.entrySet()) {
+            log("Reading [%s] attachments from [%s] ...", entry.getValue().size(), entry.getKey().getName());
+            entry.getKey().prefetch(entry.getValue());
+        }
+    }
+
+    private static <T extends WithSteps & WithAttachments> void collectAttachments(final List<T> items,
+                                                                                   final Set<String> sources) {
+        if (Objects.isNull(items)) {
+            return;
+        }
+        for (final T item : items) {
+            if (Objects.nonNull(item.getAttachments())) {
+                item.getAttachments().stream()
+                        .map(Attachment::getSource)
+                        .filter(Objects::nonNull)
+                        .forEach(sources::add);
+            }
+            collectAttachments(item.getSteps(), sources);
+        }
+    }
+
+    private void writeSingleDocument(final Path outputPath,
+                                     final SortedIds ids,
+                                     final ReportContext context,
+                                     final OutputContext output) throws IOException {
+        final FontHolder fontHolder = context.getFontHolder();
+        final ReportManifest manifest = output.getManifest();
+        try (final Document document = new Document(PageSize.A4);
+             OrderedPipeline<ResultFile, ParsedResult> pipeline = new OrderedPipeline<>(
+                     "allure-pdf-parser", threads, threads * QUEUE_SIZE_PER_THREAD)) {
+            final PdfWriter writer = PdfWriter.getInstance(document, Files.newOutputStream(outputPath));
+            final AttachmentRenderers renderers = createRenderers(writer, context, output, output.getTexts());
+            final AttachmentAppendix appended = output.isAppendix()
+                    ? new AttachmentAppendix(writer, fontHolder.bold())
+                    : null;
             document.newPage();
             document.open();
 
-            addTitlePage(document, reportName, DATE_FORMAT, fontHolder);
+            if (!output.isContinuation()) {
+                addReportHeader(document, fontHolder);
+            }
+
+            final Iterator<ResultFile> files = IteratorUtils.transformedIterator(ids, context::resultFile);
+            final OrderedPipeline.Results<ParsedResult> results = pipeline.process(files, file -> {
+                final ParsedResult result = readTestResult(file, context.getCache());
+                if (!output.isAppendix()) {
+                    output.getImages().prepare(file.getSource(), result.getResult().getSteps());
+                }
+                return result;
+            });
+            while (results.hasNext()) {
+                final ParsedResult result = results.next();
+                printTestResultDetails(document, result, context, renderers, appended);
+                if (Objects.nonNull(manifest)) {
+                    manifest.add(ResultSources.baseName(result.getFile().getEntry()));
+                }
+            }
+            if (Objects.nonNull(appended)) {
+                addAttachmentAppendix(document, appended, renderers, fontHolder);
+            }
+            if (Objects.nonNull(manifest) && !output.isContinuation()) {
+                writer.addFileAttachment(manifest.name(), manifest.embed(writer));
+                document.addHeader(RESULTS_INFO, String.valueOf(manifest.size()));
+            }
+        }
+    }
+
+    /**
+     * Lays out chunks of results concurrently into temporary documents and copies their pages in report order.
+     * Font subsets are collected by every writer separately, so chunks share loaded fonts. Images and embedded
+     * files used by several chunks are written by every chunk, the smart copy stores identical streams once.
+     * Every chunk is laid out with the whole text budget. A chunk that needs more than the report has left
+     * when it is merged is laid out again with the rest, so text is cut in document order.
+     */
+    private void writeChunkedDocument(final Path outputPath,
+                                      final SortedIds ids,
+                                      final ReportContext context,
+                                      final OutputContext output) throws IOException {
+        final ReportManifest manifest = output.getManifest();
+        final List<Path> pending = Collections.synchronizedList(new ArrayList<>());
+        final AtomicBoolean first = new AtomicBoolean(!output.isContinuation());
+        final Iterator<RenderChunk> chunks = IteratorUtils.transformedIterator(
+                ids.chunks(renderChunkSize), chunk -> new RenderChunk(chunk, first.getAndSet(false))
+        );
+        try (final Document document = new Document(PageSize.A4);
+             OrderedPipeline<RenderChunk, RenderedChunk> pipeline = new OrderedPipeline<>(
+                     "allure-pdf-renderer", threads, threads)) {
+            final PdfCopy copy = new PdfSmartCopy(document, Files.newOutputStream(outputPath));
+            document.open();
 
+            final OrderedPipeline.Results<RenderedChunk> parts = pipeline.process(chunks, chunk -> {
+                final Path part = Files.createTempFile("allure-pdf-part", ".pdf");
+                pending.add(part);
+                final TextAttachments texts = output.getTexts().part();
+                renderChunk(part, chunk, context, output, texts);
+                return new RenderedChunk(chunk, part, texts);
+            });
+            while (parts.hasNext()) {
+                final RenderedChunk part = parts.next();
+                TextAttachments texts = part.texts;
+                if (!output.getTexts().fits(texts)) {
+                    texts = output.getTexts().rest();
+                    renderChunk(part.file, part.chunk, context, output, texts);
+                }
+                output.getTexts().charge(texts);
+                copyPages(copy, part.file);
+                Files.deleteIfExists(part.file);
+            }
+            if (Objects.nonNull(manifest)) {
+                for (int id = 0; id < context.getIndex().size(); id++) {
+                    if (context.isSelected(id)) {
+                        manifest.add(ResultSources.baseName(context.getIndex().entry(id)));
+                    }
+                }
+                if (!output.isContinuation()) {
+                    copy.addFileAttachment(manifest.name(), manifest.embed(copy));
+                    document.addHeader(RESULTS_INFO, String.valueOf(manifest.size()));
+                }
+            }
+        } finally {
+            for (final Path part : pending) {
+                Files.deleteIfExists(part);
+            }
+        }
+    }
+
+    private void renderChunk(final Path part,
+                             final RenderChunk chunk,
+                             final ReportContext context,
+                             final OutputContext output,
+                             final TextAttachments texts) throws IOException {
+        try (final Document document = new Document(PageSize.A4)) {
+            final PdfWriter writer = PdfWriter.getInstance(document, Files.newOutputStream(part));
+            final AttachmentRenderers renderers = createRenderers(writer, context, output, texts);
             document.newPage();
-            final Paragraph tableHeader = new Paragraph("Test Details", fontHolder.header2());
-            addEmptyLine(tableHeader, 2);
-            document.add(tableHeader);
-
-            for (Path path : files) {
-                final TestResult result = new ObjectMapper().readValue(path.toFile(), TestResult.class);
-                final Map<String, List<String>> labels = result.getLabels().stream().collect(
-                        Collectors.groupingBy(Label::getName, Collectors.mapping(Label::getValue, Collectors.toList()))
-                );
-                boolean shouldSkip = Objects.nonNull(filter)
-                        && !filter.isEmpty()
-                        && !filter.entrySet().stream().allMatch(e -> labels.getOrDefault(e.getKey(), new ArrayList<>()).contains(e.getValue()));
-                if (shouldSkip) continue;
-                printTestResultDetails(document, result, fontHolder);
+            document.open();
+
+            if (chunk.first) {
+                addReportHeader(document, context.getFontHolder());
             }
+            for (final int id : chunk.ids) {
+                final ParsedResult result = readTestResult(context.resultFile(id), context.getCache());
+                printTestResultDetails(document, result, context, renderers, null);
+            }
+        }
+    }
+
+    private AttachmentRenderers createRenderers(final PdfWriter writer,
+                                                final ReportContext context,
+                                                final OutputContext output,
+                                                final TextAttachments texts) {
+        return new AttachmentRenderers(
+                texts, output.getImages(), output.isEmbed() ? new EmbeddedAttachments(writer) : null,
+                context.getFontHolder(), attachmentTail, tableBatchSize
+        );
+    }
+
+    private static void copyPages(final PdfCopy copy, final Path part) throws IOException {
+        final PdfReader reader = new PdfReader(new RandomAccessFileOrArray(part.toString()), null);
+        try {
+            for (int page = 1; page <= reader.getNumberOfPages(); page++) {
+                copy.addPage(copy.getImportedPage(reader, page));
+            }
+            copy.freeReader(reader);
+        } finally {
+            reader.close();
+        }
+    }
+
+    private void addReportHeader(final Document document, final FontHolder fontHolder) {
+        addTitlePage(document, reportName, DATE_FORMAT, fontHolder);
+
+        document.newPage();
+        final Paragraph tableHeader = new Paragraph("Test Details", fontHolder.header2());
+        addEmptyLine(tableHeader, 2);
+        document.add(tableHeader);
+    }
+
+    private boolean isResultsInput(final Path reportPath) {
+        if (Files.notExists(reportPath)) {
+            log("Results directory [%s] does not exists", reportPath.toAbsolutePath());
+            return false;
+        }
+        if (!ResultSources.isSupported(reportPath)) {
+            log("Input [%s] is not directory or archive", reportPath.toAbsolutePath());
+            return false;
+        }
+        return true;
+    }
+
+    private ResultsScanner resultsScanner() {
+        return new ResultsScanner(maxDepth, RESULT_SUFFIX, CONTAINER_SUFFIX);
+    }
+
+    private List<ResultSource> openSources(final List<Path> inputs,
+                                           final List<ResultSource> opened) throws IOException {
+        final ResultsScanner scanner = resultsScanner();
+        final List<ResultSource> sources = new ArrayList<>();
+        try (OrderedPipeline<Path, ResultSource> pipeline = new OrderedPipeline<>(
+                "allure-pdf-scanner", Math.min(threads, inputs.size()), inputs.size())) {
+            final OrderedPipeline.Results<ResultSource> results = pipeline.process(inputs.iterator(), input -> {
+                final ResultSource source = ResultSources.open(input, scanner);
+                opened.add(source);
+                return source;
+            });
+            while (results.hasNext()) {
+                sources.add(results.next());
+            }
+        }
+        return sources;
+    }
+
+    private Iterator<ResultFile> allResultFiles(final List<ResultSource> sources, final AtomicLong found) {
+        return new ConcatIterator<>(
+                sources.iterator(), source -> resultFiles(source).peek(file -> {
+                    if (!isContainer(file)) {
+                        found.incrementAndGet();
+                    }
+                })
+        );
+    }
+
+    /**
+     * Indexes result files. When {@code watched} is given, a file that can not be read yet is logged
+     * and kept for the next update instead of failing the report.
+     */
+    private void buildIndex(final Iterator<ResultFile> files,
+                            final ReportContext context,
+                            final WatchedFiles watched) throws IOException {
+        final LabelFilter labelFilter = new LabelFilter(filter);
+        final FixtureIndex fixtures = context.getFixtures();
+        final ResultCache cache = context.getCache();
+        final LatestAttempts attempts = context.getAttempts();
+        try (OrderedPipeline<ResultFile, ResultSummary> pipeline = new OrderedPipeline<>(
+                "allure-pdf-indexer", threads, threads * QUEUE_SIZE_PER_THREAD)) {
+            final OrderedPipeline.Results<ResultSummary> summaries = pipeline.process(
+                    files, file -> Objects.isNull(watched)
+                            ? readIndexed(file, labelFilter, fixtures, cache)
+                            : readWatched(file, labelFilter, fixtures, cache, watched)
+            );
+            while (summaries.hasNext()) {
+                final ResultSummary summary = summaries.next();
+                if (Objects.nonNull(summary)) {
+                    final ResultFile file = summary.getFile();
+                    final int id = context.getIndex().add(
+                            context.getSources().indexOf(file.getSource()), file.getEntry(), summary
+                    );
+                    if (Objects.nonNull(attempts)) {
+                        attempts.add(id);
+                    }
+                }
+            }
+        }
+    }
+
+    private ResultSummary readIndexed(final ResultFile file,
+                                      final LabelFilter labelFilter,
+                                      final FixtureIndex fixtures,
+                                      final ResultCache cache) throws IOException {
+        return isContainer(file) ? readContainer(file, fixtures, cache) : readSummary(file, labelFilter, cache);
+    }
+
+    private ResultSummary readWatched(final ResultFile file,
+                                      final LabelFilter labelFilter,
+                                      final FixtureIndex fixtures,
+                                      final ResultCache cache,
+                                      final WatchedFiles watched) {
+        try {
+            final ResultSummary summary = readIndexed(file, labelFilter, fixtures, cache);
+            watched.indexed(file);
+            return summary;
+        } catch (IOException | RuntimeException e) {
+            log("Could not read [%s], it will be read again on next update: %s", file.getEntry(), e.getMessage());
+            watched.failed(file);
+            return null;
+        }
+    }
+
+    private Stream<ResultFile> resultFiles(final ResultSource source) {
+        try {
+            return source.resultEntries().map(entry -> new ResultFile(source, entry));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void closeSources(final List<ResultSource> sources) throws IOException {
+        IOException error = null;
+        for (final ResultSource source : sources) {
+            try {
+                source.close();
+            } catch (IOException e) {
+                error = e;
+            }
+        }
+        if (Objects.nonNull(error)) {
+            throw error;
+        }
+    }
+
+    private static boolean isContainer(final ResultFile file) {
+        return file.getEntry().endsWith(CONTAINER_SUFFIX);
+    }
+
+    private ResultSummary readContainer(final ResultFile file,
+                                       final FixtureIndex fixtures,
+                                       final ResultCache cache) throws IOException {
+        if (Objects.nonNull(cache)) {
+            fixtures.add(readCachedContainer(file, cache));
+            return null;
+        }
+        try (InputStream stream = file.open()) {
+            fixtures.add(ResultProjectionParser.readContainer(stream));
+        }
+        return null;
+    }
+
+    private ResultSummary readSummary(final ResultFile file,
+                                      final LabelFilter labelFilter,
+                                      final ResultCache cache) throws IOException {
+        if (Objects.nonNull(cache)) {
+            final TestResult result = readCached(file, cache);
+            return labelFilter.matches(result.getLabels()) ? ResultSummary.of(file, result) : null;
+        }
+        return ResultSummaryParser.read(file, labelFilter);
+    }
+
+    private ParsedResult readTestResult(final ResultFile file, final ResultCache cache) throws IOException {
+        if (Objects.nonNull(cache)) {
+            return new ParsedResult(file, readCached(file, cache));
+        }
+        try (InputStream stream = file.open()) {
+            return new ParsedResult(file, ResultProjectionParser.read(stream));
         }
     }
 
+    private TestResult readCached(final ResultFile file, final ResultCache cache) throws IOException {
+        final ResultStamp stamp = file.getSource().stamp(file.getEntry());
+        final TestResult cached = cache.read(stamp);
+        if (Objects.nonNull(cached)) {
+            return cached;
+        }
+        final TestResult result;
+        try (InputStream stream = file.open()) {
+            result = ResultProjectionParser.read(stream);
+        }
+        cache.write(stamp, result);
+        return result;
+    }
+
+    private TestResultContainer readCachedContainer(final ResultFile file, final ResultCache cache)
+            throws IOException {
+        final ResultStamp stamp = file.getSource().stamp(file.getEntry());
+        final TestResultContainer cached = cache.readContainer(stamp);
+        if (Objects.nonNull(cached)) {
+            return cached;
+        }
+        final TestResultContainer container;
+        try (InputStream stream = file.open()) {
+            container = ResultProjectionParser.readContainer(stream);
+        }
+        cache.writeContainer(stamp, container);
+        return container;
+    }
+
     private void addTitlePage(final Document document,
                               final String exportName,
                               final DateFormat dateFormat,
@@ -126,16 +834,33 @@ public class AllurePDFGenerator {
     }
 
     private void printTestResultDetails(final Document document,
-                                        final TestResult testResult,
-                                        final FontHolder fontHolder) {
+                                        final ParsedResult parsedResult,
+                                        final ReportContext context,
+                                        final AttachmentRenderers renderers,
+                                        final AttachmentAppendix appendix) {
+        final LatestAttempts attempts = context.getAttempts();
+        final FixtureIndex fixtures = context.getFixtures();
+        final FontHolder fontHolder = context.getFontHolder();
+        final TestResult testResult = parsedResult.getResult();
+        final ResultSource source = parsedResult.getFile().getSource();
         final Paragraph details = new Paragraph();
         details.add(PdfUtil.createEmptyLine());
         addTestResultHeader(testResult, fontHolder, details);
+        if (Objects.nonNull(attempts)) {
+            addRetries(attempts.retries(testResult.getHistoryId()), fontHolder, details);
+        }
         details.add(PdfUtil.createEmptyLine());
         addCustomFieldsSection(testResult, fontHolder, details);
-        details.add(PdfUtil.createEmptyLine());
-        addSteps(testResult, fontHolder, details);
         document.add(details);
+        addParameters(document, testResult, fontHolder);
+        final Paragraph scenario = new Paragraph();
+        scenario.add(PdfUtil.createEmptyLine());
+        addFixtures("Set up", fixtures.befores(testResult.getUuid()), source, renderers, appendix, fontHolder,
+                scenario);
+        addSteps(testResult, source, renderers, appendix, fontHolder, scenario);
+        addFixtures("Tear down", fixtures.afters(testResult.getUuid()), source, renderers, appendix, fontHolder,
+                scenario);
+        document.add(scenario);
     }
 
     private void addTestResultHeader(final TestResult testResult, final FontHolder fontHolder,
@@ -146,6 +871,15 @@ public class AllurePDFGenerator {
         details.add(testResultStatus);
     }
 
+    private void addRetries(final int retries, final FontHolder fontHolder, final Paragraph details) {
+        if (retries > 0) {
+            final Paragraph paragraph = new Paragraph();
+            paragraph.add(new Phrase("Retries: ", fontHolder.bold()));
+            paragraph.add(new Phrase(String.valueOf(retries), fontHolder.normal()));
+            details.add(paragraph);
+        }
+    }
+
     private void addCustomFieldsSection(final TestResult testResult,
                                         final FontHolder fontHolder,
                                         final Paragraph details) {
@@ -162,35 +896,83 @@ public class AllurePDFGenerator {
         }
     }
 
-    private void addSteps(final TestResult testResult, final FontHolder fontHolder, final Paragraph details) {
+    /**
+     * Parameters of data driven tests are written straight to the document in batches of rows.
+     */
+    private void addParameters(final Document document, final TestResult testResult, final FontHolder fontHolder) {
+        if (CollectionUtils.isNotEmpty(testResult.getParameters())) {
+            document.add(new Paragraph("Parameters", fontHolder.header4()));
+            final StreamingTable table = new StreamingTable(2, document, tableBatchSize);
+            table.addCell(new Phrase("Name", fontHolder.bold()));
+            table.addCell(new Phrase("Value", fontHolder.bold()));
+            for (final Parameter parameter : testResult.getParameters()) {
+                table.addCell(new Phrase(Objects.toString(parameter.getName(), ""), fontHolder.normal()));
+                table.addCell(new Phrase(Objects.toString(parameter.getValue(), ""), fontHolder.normal()));
+            }
+            table.finish();
+        }
+    }
+
+    private void addSteps(final TestResult testResult, final ResultSource source, final AttachmentRenderers renderers,
+                          final AttachmentAppendix appendix, final FontHolder fontHolder, final Paragraph details) {
         if (Objects.nonNull(testResult.getSteps())) {
             details.add(new Paragraph("Scenario", fontHolder.header4()));
-            details.add(createStepsList(testResult.getSteps(), fontHolder));
+            details.add(createStepsList(testResult.getSteps(), source, renderers, appendix, fontHolder));
+        }
+    }
+
+    private void addFixtures(final String title, final List<FixtureResult> fixtures, final ResultSource source,
+                             final AttachmentRenderers renderers, final AttachmentAppendix appendix,
+                             final FontHolder fontHolder, final Paragraph details) {
+        if (CollectionUtils.isNotEmpty(fixtures)) {
+            details.add(new Paragraph(title, fontHolder.header4()));
+            details.add(createStepsList(asSteps(fixtures), source, renderers, appendix, fontHolder));
         }
     }
 
-    private com.lowagie.text.List createStepsList(final List<StepResult> steps, final FontHolder fontHolder) {
+    /**
+     * Fixtures are rendered the same way as steps.
+     */
+    private static List<StepResult> asSteps(final List<FixtureResult> fixtures) {
+        return fixtures.stream()
+                .map(fixture -> new StepResult()
+                        .setName(fixture.getName())
+                        .setStatus(fixture.getStatus())
+                        .setStatusDetails(fixture.getStatusDetails())
+                        .setAttachments(fixture.getAttachments())
+                        .setSteps(fixture.getSteps()))
+                .collect(Collectors.toList());
+    }
+
+    private com.lowagie.text.List createStepsList(final List<StepResult> steps,
+                                                  final ResultSource source,
+                                                  final AttachmentRenderers renderers,
+                                                  final AttachmentAppendix appendix,
+                                                  final FontHolder fontHolder) {
         final com.lowagie.text.List stepList = new com.lowagie.text.List(true);
         steps.forEach(step -> {
-            final Font font = fontHolder.normal(statusColors.getStatusColor(step.getStatus()));
+            final Color color = statusColors.getStatusColor(step.getStatus());
+            final Font font = fontHolder.normal(color);
             final ListItem stepItem = new ListItem(String.format("%s", step.getName()), font);
             final StatusDetails statusDetails = step.getStatusDetails();
             if (Objects.nonNull(statusDetails) && Objects.nonNull(statusDetails.getMessage())) {
                 stepItem.add(new Paragraph(statusDetails.getMessage(), font));
             }
             if (Objects.nonNull(step.getSteps())) {
-                stepItem.add(createStepsList(step.getSteps(), fontHolder));
+                stepItem.add(createStepsList(step.getSteps(), source, renderers, appendix, fontHolder));
             }
             if (Objects.nonNull(step.getAttachments())) {
                 final com.lowagie.text.List attachments = new com.lowagie.text.List(false, false);
                 for (final Attachment attach : step.getAttachments()) {
                     final String attachmentTitle = String.format("%s (%s)", attach.getName(), attach.getType());
                     final ListItem attachmentItem = new ListItem(attachmentTitle, font);
-                    final com.lowagie.text.List content = new com.lowagie.text.List(false);
-                    for (final String line : readFile(attach)) {
-                        content.add(new ListItem(line.replace("\t", " "), font));
+                    if (Objects.nonNull(appendix)) {
+                        final AttachmentAppendix.Entry entry = appendix.add(source, attach, color);
+                        attachmentItem.add(createAppendixLink(appendix, entry, fontHolder));
+                    } else {
+                        attachmentItem.add(Chunk.NEWLINE);
+                        attachmentItem.add(createAttachmentBlock(source, attach, color, renderers));
                     }
-                    attachmentItem.add(content);
                     attachments.add(attachmentItem);
                 }
                 stepItem.add(attachments);
@@ -200,10 +982,60 @@ public class AllurePDFGenerator {
         return stepList;
     }
 
-    private List<String> readFile(final Attachment attachment) {
-        final Path file = reportPath.resolve(attachment.getSource());
-        try (InputStream stream = Files.newInputStream(file)) {
-            return IOUtils.readLines(stream, StandardCharsets.UTF_8);
+    /**
+     * Renders attachments referenced from steps after all tests. Every attachment is added to the document
+     * on its own, so blocks are laid out and flushed one by one instead of as part of a nested list.
+     * Tables are written in batches of rows.
+     */
+    private void addAttachmentAppendix(final Document document,
+                                       final AttachmentAppendix appendix,
+                                       final AttachmentRenderers renderers,
+                                       final FontHolder fontHolder) {
+        if (appendix.isEmpty()) {
+            return;
+        }
+        document.newPage();
+        document.add(new Paragraph("Attachments", fontHolder.header2()));
+        for (final AttachmentAppendix.Entry entry : appendix) {
+            final Attachment attach = entry.getAttachment();
+            final Chunk title = new Chunk(
+                    String.format("%s. %s (%s)", entry.getNumber(), attach.getName(), attach.getType()),
+                    fontHolder.header4(entry.getColor())
+            );
+            title.setLocalDestination(entry.getDestination());
+            title.setGenericTag(entry.getDestination());
+            document.add(new Paragraph(title));
+            try {
+                renderers.render(document, entry.getSource(), attach, entry.getColor());
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    /**
+     * Link to an appendix entry with its number and the page it is printed on.
+     */
+    private Phrase createAppendixLink(final AttachmentAppendix appendix,
+                                      final AttachmentAppendix.Entry entry,
+                                      final FontHolder fontHolder) {
+        final Phrase link = new Phrase();
+        for (final Chunk chunk : Arrays.asList(
+                new Chunk(String.format(" [attachment %s, ", entry.getNumber()), fontHolder.bold()),
+                appendix.page(entry),
+                new Chunk("]", fontHolder.bold()))) {
+            chunk.setLocalGoto(entry.getDestination());
+            link.add(chunk);
+        }
+        return link;
+    }
+
+    private Element createAttachmentBlock(final ResultSource source,
+                                          final Attachment attach,
+                                          final Color color,
+                                          final AttachmentRenderers renderers) {
+        try {
+            return renderers.render(source, attach, color);
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
@@ -213,4 +1045,72 @@ public class AllurePDFGenerator {
         System.out.println(String.format(template, values));
     }
 
+    /**
+     * Result files already in the watched report, and files to read again because they were incomplete.
+     */
+    private static final class WatchedFiles {
+
+        private final List<ResultSource> sources;
+        private final Set<String> indexed = ConcurrentHashMap.newKeySet();
+        private final Map<String, ResultFile> failed = new ConcurrentHashMap<>();
+
+        private WatchedFiles(final List<ResultSource> sources) {
+            this.sources = sources;
+        }
+
+        private boolean isNew(final ResultFile file) {
+            final String key = key(file);
+            return !indexed.contains(key) && !failed.containsKey(key);
+        }
+
+        private void indexed(final ResultFile file) {
+            indexed.add(key(file));
+        }
+
+        private void failed(final ResultFile file) {
+            failed.put(key(file), file);
+        }
+
+        private int size() {
+            return indexed.size();
+        }
+
+        private List<ResultFile> takeFailed() {
+            final List<ResultFile> files = new ArrayList<>(failed.values());
+            failed.clear();
+            return files;
+        }
+
+        private String key(final ResultFile file) {
+            return sources.indexOf(file.getSource()) + ":" + file.getEntry();
+        }
+
+    }
+
+    private static final class RenderChunk {
+
+        private final int[] ids;
+        private final boolean first;
+
+        private RenderChunk(final int[] ids, final boolean first) {
+            this.ids = ids;
+            this.first = first;
+        }
+
+    }
+
+    private static final class RenderedChunk {
+
+        private final RenderChunk chunk;
+        private final Path file;
+        private final TextAttachments texts;
+
+        private RenderedChunk(final RenderChunk chunk, final Path file, final TextAttachments texts) {
+            this.chunk = chunk;
+            this.file = file;
+            this.texts = texts;
+        }
+
+    }
+
 }
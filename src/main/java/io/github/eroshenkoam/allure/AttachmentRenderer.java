@@ -0,0 +1,27 @@
+package io.github.eroshenkoam.allure;
+
+import com.lowagie.text.Document;
+import com.lowagie.text.Element;
+import io.github.eroshenkoam.allure.source.ResultSource;
+import io.qameta.allure.model.Attachment;
+
+import java.awt.Color;
+import java.io.IOException;
+
+/**
+ * Renders content of one attachment, the color is the status color of the step that owns it.
+ */
+@FunctionalInterface
+public interface AttachmentRenderer {
+
+    Element render(ResultSource source, Attachment attachment, Color color) throws IOException;
+
+    /**
+     * Renders attachment straight into the document, renderers of large content write it in parts.
+     */
+    default void render(Document document, ResultSource source, Attachment attachment, Color color)
+            throws IOException {
+        document.add(render(source, attachment, color));
+    }
+
+}
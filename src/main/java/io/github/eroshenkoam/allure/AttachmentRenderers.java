@@ -0,0 +1,305 @@
+package io.github.eroshenkoam.allure;
+
+import com.lowagie.text.Chunk;
+import com.lowagie.text.Document;
+import com.lowagie.text.Element;
+import com.lowagie.text.Font;
+import com.lowagie.text.Image;
+import com.lowagie.text.Paragraph;
+import com.lowagie.text.Phrase;
+import com.lowagie.text.pdf.FontSelector;
+import io.github.eroshenkoam.allure.attachment.AttachmentTypes;
+import io.github.eroshenkoam.allure.attachment.ContentHash;
+import io.github.eroshenkoam.allure.attachment.EmbeddedAttachments;
+import io.github.eroshenkoam.allure.attachment.ImageAttachments;
+import io.github.eroshenkoam.allure.attachment.TextAttachments;
+import io.github.eroshenkoam.allure.attachment.TextBlock;
+import io.github.eroshenkoam.allure.attachment.TextFormats;
+import io.github.eroshenkoam.allure.attachment.TextFormatter;
+import io.github.eroshenkoam.allure.source.FileRegion;
+import io.github.eroshenkoam.allure.source.ResultSource;
+import io.github.eroshenkoam.allure.util.StreamingTable;
+import io.qameta.allure.model.Attachment;
+import org.apache.commons.io.FileUtils;
+
+import java.awt.Color;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Renderers of attachments of one document, chosen by attachment type. A type is looked up as is, then by its
+ * structured syntax suffix such as {@code +json}, then by its family such as {@code text/*}. Attachments without
+ * a type are looked up by the extension of their file and unknown types are summarized as binary content.
+ * Every text renderer streams its input within the caps of the report text attachments.
+ * Rendered straight into the document, csv tables are written in batches of rows.
+ */
+public class AttachmentRenderers {
+
+    public static final String BINARY = "application/octet-stream";
+
+    private final Map<String, AttachmentRenderer> renderers = new HashMap<>();
+    private final TextAttachments texts;
+    private final ImageAttachments images;
+    private final EmbeddedAttachments embedded;
+    private final FontHolder fontHolder;
+    private final boolean tail;
+    private final int tableBatchSize;
+
+    public AttachmentRenderers(final TextAttachments texts,
+                               final ImageAttachments images,
+                               final EmbeddedAttachments embedded,
+                               final FontHolder fontHolder,
+                               final boolean tail,
+                               final int tableBatchSize) {
+        this.texts = texts;
+        this.images = images;
+        this.embedded = embedded;
+        this.fontHolder = fontHolder;
+        this.tail = tail;
+        this.tableBatchSize = tableBatchSize;
+        register("text/*", text(TextFormats.plain()));
+        register("text/plain", text(TextFormats.plain()));
+        register("application/json", text(TextFormats.json()));
+        register("+json", text(TextFormats.json()));
+        register("application/xml", text(TextFormats.xml()));
+        register("text/xml", text(TextFormats.xml()));
+        register("+xml", text(TextFormats.xml()));
+        register("text/csv", new TableRenderer());
+        register("image/*", this::renderImage);
+        register(BINARY, this::renderBinary);
+    }
+
+    /**
+     * Registers renderer for a type, a family such as {@code image/*} or a suffix such as {@code +json}.
+     */
+    public void register(final String type, final AttachmentRenderer renderer) {
+        renderers.put(type.toLowerCase(Locale.ROOT), renderer);
+    }
+
+    public AttachmentRenderer find(final String type) {
+        if (Objects.isNull(type)) {
+            return renderers.get(BINARY);
+        }
+        final String normalized = AttachmentTypes.normalize(type);
+        final AttachmentRenderer exact = renderers.get(normalized);
+        if (Objects.nonNull(exact)) {
+            return exact;
+        }
+        final int suffix = normalized.lastIndexOf('+');
+        if (suffix >= 0 && renderers.containsKey(normalized.substring(suffix))) {
+            return renderers.get(normalized.substring(suffix));
+        }
+        final int family = normalized.indexOf('/');
+        if (family > 0 && renderers.containsKey(normalized.substring(0, family) + "/*")) {
+            return renderers.get(normalized.substring(0, family) + "/*");
+        }
+        return renderers.get(BINARY);
+    }
+
+    /**
+     * Renders attachment with the renderer of its type. When attachments are embedded as files,
+     * everything except images is shown as a link to the embedded file.
+     */
+    public Element render(final ResultSource source, final Attachment attachment, final Color color)
+            throws IOException {
+        if (Objects.nonNull(embedded) && !ImageAttachments.isImage(attachment)) {
+            return createFileLink(embedded.embed(source, attachment));
+        }
+        return find(AttachmentTypes.typeOf(attachment)).render(source, attachment, color);
+    }
+
+    /**
+     * Renders attachment as a top level block of the document, so large content can be written in parts.
+     */
+    public void render(final Document document,
+                       final ResultSource source,
+                       final Attachment attachment,
+                       final Color color) throws IOException {
+        if (Objects.nonNull(embedded) && !ImageAttachments.isImage(attachment)) {
+            document.add(createFileLink(embedded.embed(source, attachment)));
+            return;
+        }
+        find(AttachmentTypes.typeOf(attachment)).render(document, source, attachment, color);
+    }
+
+    private AttachmentRenderer text(final TextFormatter formatter) {
+        return (source, attachment, color) -> createTextBlock(readText(source, attachment, formatter), color);
+    }
+
+    /**
+     * Formats attachment text, an attachment that can not be formatted is shown as plain text.
+     * Tail mode always shows the plain end of the attachment.
+     */
+    private TextBlock readText(final ResultSource source, final Attachment attachment, final TextFormatter formatter)
+            throws IOException {
+        if (tail) {
+            final FileRegion region = source.attachmentRegion(attachment.getSource());
+            if (Objects.nonNull(region)) {
+                return texts.tail(region);
+            }
+            try (InputStream stream = source.openAttachment(attachment.getSource())) {
+                return texts.tail(stream);
+            }
+        }
+        final InputStream stream = source.openAttachment(attachment.getSource());
+        try {
+            return texts.format(stream, formatter);
+        } catch (IOException e) {
+            if (formatter == TextFormats.plain()) {
+                throw e;
+            }
+            return texts.read(source.openAttachment(attachment.getSource()));
+        }
+    }
+
+    private Paragraph createTextBlock(final TextBlock block, final Color color) {
+        final Paragraph paragraph = new Paragraph();
+        paragraph.setLeading(0, 1.2f);
+        if (block.isTruncated() && block.isTail()) {
+            paragraph.add(new Phrase(block.getTruncation() + "\n", fontHolder.bold()));
+        }
+        paragraph.add(monospace(color).process(block.getText()));
+        if (block.isTruncated() && !block.isTail()) {
+            paragraph.add(new Phrase("\n" + block.getTruncation(), fontHolder.bold()));
+        }
+        return paragraph;
+    }
+
+    private Element renderImage(final ResultSource source, final Attachment attachment, final Color color)
+            throws IOException {
+        if (!ImageAttachments.isImage(attachment)) {
+            return renderBinary(source, attachment, color);
+        }
+        final Image image = images.get(source, attachment);
+        if (Objects.isNull(image)) {
+            return new Phrase("[image can not be read]", fontHolder.bold());
+        }
+        return new Chunk(image, 0, 0, true);
+    }
+
+    private Element renderBinary(final ResultSource source, final Attachment attachment, final Color color)
+            throws IOException {
+        final MessageDigest digest = ContentHash.digest();
+        final byte[] buffer = new byte[64 * 1024];
+        long size = 0;
+        try (InputStream stream = source.openAttachment(attachment.getSource())) {
+            int read;
+            while ((read = stream.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+                size += read;
+            }
+        }
+        return new Phrase(String.format(
+                "[binary content, %s, sha1 %s]",
+                FileUtils.byteCountToDisplaySize(size), ContentHash.hex(digest.digest())
+        ), fontHolder.bold());
+    }
+
+    private Chunk createFileLink(final EmbeddedAttachments.EmbeddedFile file) throws IOException {
+        final String title = String.format("[embedded file, %s]", FileUtils.byteCountToDisplaySize(file.getSize()));
+        final Chunk link = new Chunk(title, fontHolder.bold());
+        link.setAnnotation(file.createAnnotation(title));
+        return link;
+    }
+
+    private FontSelector monospace(final Color color) {
+        final FontSelector selector = new FontSelector();
+        selector.addFont(fontHolder.monospace(color));
+        selector.addFont(fontHolder.normal(color));
+        return selector;
+    }
+
+    /**
+     * Renders csv attachments as tables. Nested into a step the table is built whole within the caps,
+     * rendered into the document it is written in batches of rows.
+     */
+    private final class TableRenderer implements AttachmentRenderer {
+
+        @Override
+        public Element render(final ResultSource source, final Attachment attachment, final Color color)
+                throws IOException {
+            final Paragraph paragraph = new Paragraph();
+            final TableRows rows = new TableRows(null, color);
+            final String truncation = read(source, attachment, rows);
+            if (Objects.nonNull(rows.table)) {
+                paragraph.add(rows.table.finish());
+            }
+            if (Objects.nonNull(truncation)) {
+                paragraph.add(new Phrase(truncation, fontHolder.bold()));
+            }
+            return paragraph;
+        }
+
+        @Override
+        public void render(final Document document,
+                           final ResultSource source,
+                           final Attachment attachment,
+                           final Color color) throws IOException {
+            final TableRows rows = new TableRows(document, color);
+            final String truncation = read(source, attachment, rows);
+            if (Objects.nonNull(rows.table)) {
+                rows.table.finish();
+            }
+            if (Objects.nonNull(truncation)) {
+                document.add(new Paragraph(truncation, fontHolder.bold()));
+            }
+        }
+
+        private String read(final ResultSource source, final Attachment attachment, final TableRows rows)
+                throws IOException {
+            try (InputStream stream = source.openAttachment(attachment.getSource())) {
+                return texts.table(stream, rows);
+            }
+        }
+
+    }
+
+    /**
+     * Adds csv rows to a table, the first row is the header and sets the number of columns.
+     * Missing cells are left empty and extra cells are joined into the last column.
+     */
+    private final class TableRows implements Consumer<List<String>> {
+
+        private final Document document;
+        private final FontSelector cells;
+        private final Font header;
+
+        private StreamingTable table;
+
+        private TableRows(final Document document, final Color color) {
+            this.document = document;
+            this.cells = monospace(color);
+            this.header = fontHolder.bold(color);
+        }
+
+        @Override
+        public void accept(final List<String> row) {
+            if (Objects.isNull(table)) {
+                table = new StreamingTable(row.size(), document, tableBatchSize);
+                row.forEach(value -> table.addCell(new Phrase(value, header)));
+                return;
+            }
+            final int columns = table.getColumns();
+            for (int column = 0; column < columns; column++) {
+                final String value;
+                if (column >= row.size()) {
+                    value = "";
+                } else if (column == columns - 1) {
+                    value = String.join(",", row.subList(column, row.size()));
+                } else {
+                    value = row.get(column);
+                }
+                table.addCell(cells.process(value));
+            }
+        }
+
+    }
+
+}
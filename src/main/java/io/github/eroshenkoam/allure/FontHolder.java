@@ -5,14 +5,38 @@ import com.lowagie.text.pdf.BaseFont;
 
 import java.awt.*;
 import java.io.IOException;
-
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fonts of the report. Instances are cached by size, style and color and shared between rendering threads,
+ * so returned fonts must not be modified. Holders are registered once per font program and reused
+ * by every generator of the process.
+ */
 public final class FontHolder {
 
     private static final String ARIAL_FONT = "/assets/fonts/arial.ttf";
 
-    private BaseFont baseFont;
-
-    private FontHolder() {
+    private static final Map<String, FontHolder> REGISTRY = new ConcurrentHashMap<>();
+
+    private final FontVariant normal;
+    private final FontVariant bold;
+    private final FontVariant header4;
+    private final FontVariant header3;
+    private final FontVariant header2;
+    private final FontVariant header1;
+    private final FontVariant monospace;
+
+    private FontHolder(final BaseFont baseFont, final BaseFont monospaceFont) {
+        this.normal = new FontVariant(baseFont, 8, Font.NORMAL);
+        this.bold = new FontVariant(baseFont, 8, Font.BOLD);
+        this.header4 = new FontVariant(baseFont, 10, Font.BOLD);
+        this.header3 = new FontVariant(baseFont, 14, Font.BOLD);
+        this.header2 = new FontVariant(baseFont, 18, Font.BOLD);
+        this.header1 = new FontVariant(baseFont, 22, Font.BOLD);
+        this.monospace = new FontVariant(monospaceFont, 7, Font.NORMAL);
     }
 
     public static FontHolder loadArialFont() throws IOException {
@@ -20,9 +44,25 @@ public final class FontHolder {
     }
 
     public static FontHolder load(final String name, final String encoding, final boolean embedded) throws IOException {
-        final FontHolder fontHolder = new FontHolder();
-        fontHolder.baseFont = BaseFont.createFont(name, encoding, embedded);
-        return fontHolder;
+        final String key = String.join("|", name, encoding, String.valueOf(embedded));
+        final FontHolder registered = REGISTRY.get(key);
+        if (Objects.nonNull(registered)) {
+            return registered;
+        }
+        try {
+            return REGISTRY.computeIfAbsent(key, ignored -> {
+                try {
+                    return new FontHolder(
+                            BaseFont.createFont(name, encoding, embedded),
+                            BaseFont.createFont(BaseFont.COURIER, BaseFont.CP1252, BaseFont.NOT_EMBEDDED)
+                    );
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
     }
 
     public Font normal() {
@@ -30,7 +70,7 @@ public final class FontHolder {
     }
 
     public Font normal(final Color color) {
-        return new Font(baseFont, 8, Font.NORMAL, color);
+        return normal.get(color);
     }
 
     public Font bold() {
@@ -38,7 +78,7 @@ public final class FontHolder {
     }
 
     public Font bold(final Color color) {
-        return new Font(baseFont, 8, Font.BOLD, color);
+        return bold.get(color);
     }
 
     public Font header4() {
@@ -46,7 +86,7 @@ public final class FontHolder {
     }
 
     public Font header4(final Color color) {
-        return new Font(baseFont, 10, Font.BOLD, color);
+        return header4.get(color);
     }
 
     public Font header3() {
@@ -54,7 +94,7 @@ public final class FontHolder {
     }
 
     public Font header3(final Color color) {
-        return new Font(baseFont, 14, Font.BOLD, color);
+        return header3.get(color);
     }
 
     public Font header2() {
@@ -62,7 +102,7 @@ public final class FontHolder {
     }
 
     public Font header2(final Color color) {
-        return new Font(baseFont, 18, Font.BOLD, color);
+        return header2.get(color);
     }
 
     public Font header1() {
@@ -70,6 +110,47 @@ public final class FontHolder {
     }
 
     public Font header1(final Color color) {
-        return new Font(baseFont, 22, Font.BOLD, color);
+        return header1.get(color);
+    }
+
+    public Font monospace() {
+        return monospace(null);
+    }
+
+    /**
+     * Standard Courier covers latin text only, so text blocks are laid out with {@link #normal(Color)}
+     * as a fallback for other glyphs.
+     */
+    public Font monospace(final Color color) {
+        return monospace.get(color);
     }
+
+    private static final class FontVariant {
+
+        private final BaseFont baseFont;
+        private final float size;
+        private final int style;
+        private final Font plain;
+        private final Map<Color, Font> colored = new ConcurrentHashMap<>();
+
+        private FontVariant(final BaseFont baseFont, final float size, final int style) {
+            this.baseFont = baseFont;
+            this.size = size;
+            this.style = style;
+            this.plain = new Font(baseFont, size, style, null);
+        }
+
+        private Font get(final Color color) {
+            if (Objects.isNull(color)) {
+                return plain;
+            }
+            final Font font = colored.get(color);
+            if (Objects.nonNull(font)) {
+                return font;
+            }
+            return colored.computeIfAbsent(color, key -> new Font(baseFont, size, style, key));
+        }
+
+    }
+
 }
@@ -1,11 +1,15 @@
 package io.github.eroshenkoam.allure;
 
+import io.github.eroshenkoam.allure.attachment.AttachmentLimits;
+import io.github.eroshenkoam.allure.attachment.ImageAttachments;
+import io.github.eroshenkoam.allure.index.ResultOrder;
 import io.github.eroshenkoam.allure.option.StatusColorOptions;
 import io.qameta.allure.model.Status;
 import picocli.CommandLine;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.List;
 import java.util.Map;
 
 @CommandLine.Command(
@@ -13,11 +17,14 @@ import java.util.Map;
 )
 public class MainCommand implements Runnable {
 
+    @CommandLine.Spec
+    protected CommandLine.Model.CommandSpec spec;
+
     @CommandLine.Parameters(
-            index = "0",
-            description = "The directories with allure result files"
+            arity = "1..*",
+            description = "The directories or archives (.zip, .tar, .tar.gz) with allure result files"
     )
-    protected Path reportPath;
+    protected List<Path> reportPaths;
 
     @CommandLine.Option(
             names = {"-o", "--output"},
@@ -36,20 +43,153 @@ public class MainCommand implements Runnable {
     @CommandLine.Option(names = {"-f", "--filter"})
     protected Map<String, String> filter;
 
+    @CommandLine.Option(
+            names = {"-t", "--threads"},
+            description = "Number of threads used to parse result files"
+    )
+    protected int threads = Runtime.getRuntime().availableProcessors();
+
+    @CommandLine.Option(
+            names = {"--max-depth"},
+            description = "Maximum depth of result directories scanning"
+    )
+    protected int maxDepth = Integer.MAX_VALUE;
+
+    @CommandLine.Option(
+            names = {"--cache"},
+            description = "Directory to keep parsed results between runs"
+    )
+    protected Path cachePath;
+
+    @CommandLine.Option(
+            names = {"--order"},
+            description = "Order of tests in report: ${COMPLETION-CANDIDATES} (default: start)"
+    )
+    protected ResultOrder order = ResultOrder.START;
+
+    @CommandLine.Option(
+            names = {"--order.buffer"},
+            description = "Maximum number of results sorted in memory before sorting on disk"
+    )
+    protected int orderBufferSize = 100_000;
+
+    @CommandLine.Option(
+            names = {"--render.chunk"},
+            description = "Number of results laid out by one thread before pages are merged into report"
+    )
+    protected int renderChunkSize = 500;
+
+    @CommandLine.Option(
+            names = {"--render.table-batch"},
+            description = "Number of table rows written to report at once for csv attachments and parameters"
+    )
+    protected int tableBatchSize = 200;
+
+    @CommandLine.Option(
+            names = {"--attachment.max-bytes"},
+            description = "Maximum number of bytes shown for one text attachment"
+    )
+    protected long attachmentMaxBytes = AttachmentLimits.DEFAULT_MAX_BYTES;
+
+    @CommandLine.Option(
+            names = {"--attachment.max-lines"},
+            description = "Maximum number of lines shown for one text attachment"
+    )
+    protected long attachmentMaxLines = AttachmentLimits.DEFAULT_MAX_LINES;
+
+    @CommandLine.Option(
+            names = {"--attachment.tail"},
+            description = "Show the end of text attachments instead of the beginning"
+    )
+    protected boolean attachmentTail;
+
+    @CommandLine.Option(
+            names = {"--attachment.image.dpi"},
+            description = "Resolution image attachments are shown at, larger images are downscaled to fit the page"
+    )
+    protected int attachmentImageDpi = ImageAttachments.DEFAULT_DPI;
+
+    @CommandLine.Option(
+            names = {"--attachment.embed"},
+            description = "Embed non-image attachments as files stored once per content instead of showing their text"
+    )
+    protected boolean attachmentEmbed;
+
+    @CommandLine.Option(
+            names = {"--attachment.appendix"},
+            description = "Show attachments after all tests and link to them from test steps"
+    )
+    protected boolean attachmentAppendix;
+
+    @CommandLine.Option(
+            names = {"--report.attachments.max-bytes"},
+            description = "Maximum number of bytes shown for all text attachments of report"
+    )
+    protected long reportAttachmentsMaxBytes = AttachmentLimits.DEFAULT_REPORT_MAX_BYTES;
+
+    @CommandLine.Option(
+            names = {"--report.attachments.max-lines"},
+            description = "Maximum number of lines shown for all text attachments of report"
+    )
+    protected long reportAttachmentsMaxLines = AttachmentLimits.DEFAULT_REPORT_MAX_LINES;
+
+    @CommandLine.Option(
+            names = {"--skip-retries"},
+            description = "Keep only the latest attempt of tests with the same history id"
+    )
+    protected boolean skipRetries;
+
+    @CommandLine.Option(
+            names = {"--append"},
+            description = "Append results that are not in output file yet instead of generating it again, "
+                    + "can not be combined with --skip-retries"
+    )
+    protected boolean append;
+
+    @CommandLine.Option(
+            names = {"--watch"},
+            description = "Keep watching result directories and update report when new results appear"
+    )
+    protected boolean watch;
+
+    @CommandLine.Option(
+            names = {"--watch.debounce"},
+            description = "Milliseconds without new results before report is updated in watch mode"
+    )
+    protected long watchDebounce = 2_000;
+
     @CommandLine.ArgGroup
     protected StatusColorOptions statusColorOptions = new StatusColorOptions();
 
     @Override
     public void run() {
+        final StatusColors statusColors = statusColors();
+        if (append && skipRetries) {
+            throw new CommandLine.ParameterException(spec.commandLine(), "--append can not be combined with "
+                    + "--skip-retries, attempts already in the report can not be removed");
+        }
         try {
-            final StatusColors statusColors = new StatusColors();
-            statusColors.setStatusColors(Status.PASSED, statusColorOptions.getPassed());
-            statusColors.setStatusColors(Status.FAILED, statusColorOptions.getFailed());
-            statusColors.setStatusColors(Status.BROKEN, statusColorOptions.getBroken());
-            statusColors.setStatusColors(Status.SKIPPED, statusColorOptions.getSkipped());
-
-            final AllurePDFGenerator generator = new AllurePDFGenerator(reportName, reportPath, statusColors);
+            final AllurePDFGenerator generator = new AllurePDFGenerator(reportName, reportPaths, statusColors);
             generator.filter(filter);
+            generator.threads(threads);
+            generator.maxDepth(maxDepth);
+            generator.cache(cachePath);
+            generator.order(order);
+            generator.orderBufferSize(orderBufferSize);
+            generator.renderChunkSize(renderChunkSize);
+            generator.tableBatchSize(tableBatchSize);
+            generator.attachmentLimits(new AttachmentLimits(
+                    attachmentMaxBytes, attachmentMaxLines, reportAttachmentsMaxBytes, reportAttachmentsMaxLines
+            ));
+            generator.attachmentTail(attachmentTail);
+            generator.imageDpi(attachmentImageDpi);
+            generator.embedAttachments(attachmentEmbed);
+            generator.attachmentAppendix(attachmentAppendix);
+            generator.skipRetries(skipRetries);
+            generator.append(append);
+            if (watch) {
+                generator.watch(watchDebounce);
+            }
             generator.generate(outputPath);
             ;
         } catch (IOException e) {
@@ -57,4 +197,17 @@ public class MainCommand implements Runnable {
         }
     }
 
+    private StatusColors statusColors() {
+        final StatusColors statusColors = new StatusColors();
+        try {
+            statusColors.setStatusColors(Status.PASSED, statusColorOptions.getPassed());
+            statusColors.setStatusColors(Status.FAILED, statusColorOptions.getFailed());
+            statusColors.setStatusColors(Status.BROKEN, statusColorOptions.getBroken());
+            statusColors.setStatusColors(Status.SKIPPED, statusColorOptions.getSkipped());
+        } catch (IllegalArgumentException e) {
+            throw new CommandLine.ParameterException(spec.commandLine(), e.getMessage(), e);
+        }
+        return statusColors;
+    }
+
 }
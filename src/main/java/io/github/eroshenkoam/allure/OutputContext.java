@@ -0,0 +1,60 @@
+package io.github.eroshenkoam.allure;
+
+import io.github.eroshenkoam.allure.attachment.ImageAttachments;
+import io.github.eroshenkoam.allure.attachment.TextAttachments;
+
+/**
+ * Settings and attachment state of one written document. Appended pages are a continuation:
+ * they have no title page, and attachments are neither embedded nor moved to an appendix.
+ */
+final class OutputContext {
+
+    private final TextAttachments texts;
+    private final ImageAttachments images;
+    private final boolean embed;
+    private final boolean appendix;
+    private final ReportManifest manifest;
+    private final boolean continuation;
+
+    OutputContext(final TextAttachments texts,
+                  final ImageAttachments images,
+                  final boolean embed,
+                  final boolean appendix,
+                  final ReportManifest manifest,
+                  final boolean continuation) {
+        this.texts = texts;
+        this.images = images;
+        this.embed = embed && !continuation;
+        this.appendix = appendix && !continuation;
+        this.manifest = manifest;
+        this.continuation = continuation;
+    }
+
+    TextAttachments getTexts() {
+        return texts;
+    }
+
+    ImageAttachments getImages() {
+        return images;
+    }
+
+    boolean isEmbed() {
+        return embed;
+    }
+
+    boolean isAppendix() {
+        return appendix;
+    }
+
+    /**
+     * Returns list of written results, or null when it is not kept.
+     */
+    ReportManifest getManifest() {
+        return manifest;
+    }
+
+    boolean isContinuation() {
+        return continuation;
+    }
+
+}
@@ -0,0 +1,80 @@
+package io.github.eroshenkoam.allure;
+
+import io.github.eroshenkoam.allure.cache.ResultCache;
+import io.github.eroshenkoam.allure.index.FixtureIndex;
+import io.github.eroshenkoam.allure.index.LatestAttempts;
+import io.github.eroshenkoam.allure.index.ResultIndex;
+import io.github.eroshenkoam.allure.parser.ResultFile;
+import io.github.eroshenkoam.allure.source.ResultSource;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * State of one generator run shared by every document written from it.
+ */
+final class ReportContext {
+
+    private final List<ResultSource> sources;
+    private final ResultIndex index;
+    private final LatestAttempts attempts;
+    private final FixtureIndex fixtures;
+    private final ResultCache cache;
+    private final FontHolder fontHolder;
+
+    ReportContext(final List<ResultSource> sources,
+                  final ResultIndex index,
+                  final LatestAttempts attempts,
+                  final ResultCache cache,
+                  final FontHolder fontHolder) {
+        this.sources = sources;
+        this.index = index;
+        this.attempts = attempts;
+        this.fixtures = new FixtureIndex();
+        this.cache = cache;
+        this.fontHolder = fontHolder;
+    }
+
+    List<ResultSource> getSources() {
+        return sources;
+    }
+
+    ResultIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * Returns latest attempts of retried tests, or null when retries are kept.
+     */
+    LatestAttempts getAttempts() {
+        return attempts;
+    }
+
+    FixtureIndex getFixtures() {
+        return fixtures;
+    }
+
+    /**
+     * Returns cache of parsed results, or null when results are parsed every time.
+     */
+    ResultCache getCache() {
+        return cache;
+    }
+
+    FontHolder getFontHolder() {
+        return fontHolder;
+    }
+
+    ResultFile resultFile(final int id) {
+        return new ResultFile(sources.get(index.source(id)), index.entry(id));
+    }
+
+    boolean isSelected(final int id) {
+        return Objects.isNull(attempts) || attempts.isLatest(id);
+    }
+
+    int selectedCount() {
+        return Objects.isNull(attempts) ? index.size() : index.size() - attempts.retries();
+    }
+
+}
@@ -0,0 +1,122 @@
+package io.github.eroshenkoam.allure;
+
+import com.lowagie.text.pdf.PRStream;
+import com.lowagie.text.pdf.PdfDictionary;
+import com.lowagie.text.pdf.PdfFileSpecification;
+import com.lowagie.text.pdf.PdfName;
+import com.lowagie.text.pdf.PdfNameTree;
+import com.lowagie.text.pdf.PdfObject;
+import com.lowagie.text.pdf.PdfReader;
+import com.lowagie.text.pdf.PdfWriter;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * List of result files rendered into a report, embedded into the pdf so later runs can append only new results.
+ * Names are spooled to a temporary file while rendering and every append embeds one more part.
+ */
+public final class ReportManifest implements Closeable {
+
+    private static final String PREFIX = "allure-pdf-results-";
+    private static final String SUFFIX = ".txt";
+
+    private final Path file;
+    private final BufferedWriter writer;
+    private final int part;
+
+    private int size;
+
+    private ReportManifest(final int part) throws IOException {
+        this.file = Files.createTempFile("allure-pdf-results", SUFFIX);
+        this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+        this.part = part;
+    }
+
+    public static ReportManifest create() throws IOException {
+        return new ReportManifest(1);
+    }
+
+    public static ReportManifest next(final Existing existing) throws IOException {
+        return new ReportManifest(existing.parts + 1);
+    }
+
+    /**
+     * Reads names of all results recorded in the report, or returns null if report has no manifest.
+     */
+    public static Existing read(final PdfReader reader) throws IOException {
+        final PdfDictionary names = reader.getCatalog().getAsDict(PdfName.NAMES);
+        if (Objects.isNull(names) || Objects.isNull(names.getAsDict(PdfName.EMBEDDEDFILES))) {
+            return null;
+        }
+        final Existing existing = new Existing();
+        final Map<String, PdfObject> files = PdfNameTree.readTree(names.getAsDict(PdfName.EMBEDDEDFILES));
+        for (final Map.Entry<String, PdfObject> file : files.entrySet()) {
+            if (file.getKey().startsWith(PREFIX)) {
+                final PdfDictionary specification = (PdfDictionary) PdfReader.getPdfObject(file.getValue());
+                final PdfDictionary streams = specification.getAsDict(PdfName.EF);
+                final PRStream stream = (PRStream) PdfReader.getPdfObject(streams.get(PdfName.F));
+                final String content = new String(PdfReader.getStreamBytes(stream), StandardCharsets.UTF_8);
+                for (final String line : content.split("\n")) {
+                    if (!line.isEmpty()) {
+                        existing.results.add(line);
+                    }
+                }
+                existing.parts++;
+            }
+        }
+        return existing.parts == 0 ? null : existing;
+    }
+
+    public void add(final String result) throws IOException {
+        writer.write(result);
+        writer.write('\n');
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public PdfFileSpecification embed(final PdfWriter pdfWriter) throws IOException {
+        writer.flush();
+        return PdfFileSpecification.fileEmbedded(pdfWriter, file.toString(), name(), null);
+    }
+
+    public String name() {
+        return PREFIX + part + SUFFIX;
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * Results already recorded in a report.
+     */
+    public static final class Existing {
+
+        private final Set<String> results = new HashSet<>();
+        private int parts;
+
+        public boolean contains(final String result) {
+            return results.contains(result);
+        }
+
+        public int size() {
+            return results.size();
+        }
+
+    }
+
+}
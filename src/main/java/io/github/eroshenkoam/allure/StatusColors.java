@@ -3,33 +3,46 @@ package io.github.eroshenkoam.allure;
 import io.qameta.allure.model.Status;
 
 import java.awt.*;
-import java.util.HashMap;
+import java.util.EnumMap;
 import java.util.Map;
-import java.util.Optional;
+import java.util.Objects;
 
 public class StatusColors {
 
-    private final Map<Status, String> statusColors;
+    private static final Color UNKNOWN_STATUS_COLOR = new Color(0xBF, 0x98, 0xA6);
+
+    private final Map<Status, Color> statusColors;
 
     public StatusColors() {
-        statusColors = new HashMap<Status, String>() {{
-            put(Status.PASSED, "#97cc64");
-            put(Status.FAILED, "#fd5a3e");
-            put(Status.BROKEN, "#ffd050");
-            put(Status.SKIPPED, "#aaaaaa");
-        }};
+        statusColors = new EnumMap<>(Status.class);
+        setStatusColors(Status.PASSED, "#97cc64");
+        setStatusColors(Status.FAILED, "#fd5a3e");
+        setStatusColors(Status.BROKEN, "#ffd050");
+        setStatusColors(Status.SKIPPED, "#aaaaaa");
     }
 
-    public void setStatusColors(final Status status, String color) {
-        statusColors.put(status, color);
+    public void setStatusColors(final Status status, final String color) {
+        if (Objects.nonNull(color)) {
+            statusColors.put(status, decode(status, color));
+        }
     }
 
     public Color getStatusColor(final Status status) {
-        final String hex = Optional.ofNullable(status)
-                .map(statusColors::get)
-                .orElse("#BF98A6FF");
-        return Color.decode(hex);
+        if (Objects.isNull(status)) {
+            return UNKNOWN_STATUS_COLOR;
+        }
+        final Color color = statusColors.get(status);
+        return Objects.isNull(color) ? UNKNOWN_STATUS_COLOR : color;
     }
 
+    private static Color decode(final Status status, final String color) {
+        try {
+            return Color.decode(color);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(
+                    String.format("Invalid color [%s] for status [%s]", color, status.value()), e
+            );
+        }
+    }
 
 }
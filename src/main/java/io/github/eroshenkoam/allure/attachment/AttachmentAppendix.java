@@ -0,0 +1,141 @@
+package io.github.eroshenkoam.allure.attachment;
+
+import com.lowagie.text.BadElementException;
+import com.lowagie.text.Chunk;
+import com.lowagie.text.Document;
+import com.lowagie.text.Element;
+import com.lowagie.text.Font;
+import com.lowagie.text.Image;
+import com.lowagie.text.Phrase;
+import com.lowagie.text.Rectangle;
+import com.lowagie.text.pdf.BaseFont;
+import com.lowagie.text.pdf.ColumnText;
+import com.lowagie.text.pdf.PdfPageEventHelper;
+import com.lowagie.text.pdf.PdfTemplate;
+import com.lowagie.text.pdf.PdfWriter;
+import io.github.eroshenkoam.allure.source.ResultSource;
+import io.qameta.allure.model.Attachment;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Attachments referenced from test steps and rendered after all tests. Steps only keep a numbered link,
+ * so the nested step lists stay small, and attachment bodies are laid out later as flat blocks.
+ * A link shows the page of its attachment with an empty template, the template is filled in
+ * when the writer places the attachment title tagged with the destination of the entry.
+ */
+public class AttachmentAppendix extends PdfPageEventHelper implements Iterable<AttachmentAppendix.Entry> {
+
+    private static final String DESTINATION_PREFIX = "attachment-";
+    private static final String PAGE_FORMAT = "see page %s";
+    private static final String WIDEST_PAGE = String.format(PAGE_FORMAT, "000000");
+
+    private final List<Entry> entries = new ArrayList<>();
+    private final Map<String, PdfTemplate> pages = new HashMap<>();
+    private final PdfWriter writer;
+    private final Font font;
+    private final float width;
+    private final float height;
+    private final float descent;
+
+    public AttachmentAppendix(final PdfWriter writer, final Font font) {
+        final BaseFont baseFont = font.getCalculatedBaseFont(false);
+        final float size = font.getCalculatedSize();
+        this.writer = writer;
+        this.font = font;
+        this.width = baseFont.getWidthPoint(WIDEST_PAGE, size);
+        this.descent = baseFont.getFontDescriptor(BaseFont.DESCENT, size);
+        this.height = baseFont.getFontDescriptor(BaseFont.ASCENT, size) - descent;
+        writer.setPageEvent(this);
+    }
+
+    public Entry add(final ResultSource source, final Attachment attachment, final Color color) {
+        final PdfTemplate page = writer.getDirectContent().createTemplate(width, height);
+        final Entry entry = new Entry(entries.size() + 1, source, attachment, color, page);
+        entries.add(entry);
+        pages.put(entry.getDestination(), page);
+        return entry;
+    }
+
+    /**
+     * Returns the page of the entry as it is shown by a link, the text is written once the title is placed.
+     */
+    public Chunk page(final Entry entry) {
+        try {
+            return new Chunk(Image.getInstance(entry.page), 0, descent);
+        } catch (BadElementException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    @Override
+    public Iterator<Entry> iterator() {
+        return entries.iterator();
+    }
+
+    @Override
+    public void onGenericTag(final PdfWriter writer, final Document document,
+                             final Rectangle rect, final String text) {
+        final PdfTemplate page = pages.remove(text);
+        if (Objects.nonNull(page)) {
+            final Phrase number = new Phrase(String.format(PAGE_FORMAT, writer.getPageNumber()), font);
+            ColumnText.showTextAligned(page, Element.ALIGN_LEFT, number, 0, -descent, 0);
+        }
+    }
+
+    /**
+     * Attachment of the appendix with its number and the color of the step it belongs to.
+     */
+    public static final class Entry {
+
+        private final int number;
+        private final ResultSource source;
+        private final Attachment attachment;
+        private final Color color;
+        private final PdfTemplate page;
+
+        private Entry(final int number, final ResultSource source, final Attachment attachment, final Color color,
+                      final PdfTemplate page) {
+            this.number = number;
+            this.source = source;
+            this.attachment = attachment;
+            this.color = color;
+            this.page = page;
+        }
+
+        public int getNumber() {
+            return number;
+        }
+
+        public ResultSource getSource() {
+            return source;
+        }
+
+        public Attachment getAttachment() {
+            return attachment;
+        }
+
+        public Color getColor() {
+            return color;
+        }
+
+        /**
+         * Name of the attachment title destination, the title is also tagged with it to fill in the page.
+         */
+        public String getDestination() {
+            return DESTINATION_PREFIX + number;
+        }
+
+    }
+
+}
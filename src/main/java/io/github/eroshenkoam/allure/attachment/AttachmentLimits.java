@@ -0,0 +1,48 @@
+package io.github.eroshenkoam.allure.attachment;
+
+/**
+ * Caps for text attachments, both for every single attachment and for all attachments of one report.
+ */
+public class AttachmentLimits {
+
+    public static final long DEFAULT_MAX_BYTES = 256 * 1024;
+    public static final long DEFAULT_MAX_LINES = 5_000;
+    public static final long DEFAULT_REPORT_MAX_BYTES = 64 * 1024 * 1024;
+    public static final long DEFAULT_REPORT_MAX_LINES = 200_000;
+
+    private final long maxBytes;
+    private final long maxLines;
+    private final long reportMaxBytes;
+    private final long reportMaxLines;
+
+    public AttachmentLimits(final long maxBytes, final long maxLines,
+                            final long reportMaxBytes, final long reportMaxLines) {
+        this.maxBytes = maxBytes;
+        this.maxLines = maxLines;
+        this.reportMaxBytes = reportMaxBytes;
+        this.reportMaxLines = reportMaxLines;
+    }
+
+    public static AttachmentLimits defaults() {
+        return new AttachmentLimits(
+                DEFAULT_MAX_BYTES, DEFAULT_MAX_LINES, DEFAULT_REPORT_MAX_BYTES, DEFAULT_REPORT_MAX_LINES
+        );
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public long getMaxLines() {
+        return maxLines;
+    }
+
+    public long getReportMaxBytes() {
+        return reportMaxBytes;
+    }
+
+    public long getReportMaxLines() {
+        return reportMaxLines;
+    }
+
+}
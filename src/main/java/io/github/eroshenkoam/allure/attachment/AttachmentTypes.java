@@ -0,0 +1,54 @@
+package io.github.eroshenkoam.allure.attachment;
+
+import io.qameta.allure.model.Attachment;
+import org.apache.commons.io.FilenameUtils;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Types of attachments. Attachments without a type are resolved by the extension of their file,
+ * so renderers and image decoding agree on what an attachment is.
+ */
+public final class AttachmentTypes {
+
+    private static final Map<String, String> EXTENSIONS = new HashMap<>();
+
+    static {
+        EXTENSIONS.put("txt", "text/plain");
+        EXTENSIONS.put("log", "text/plain");
+        EXTENSIONS.put("json", "application/json");
+        EXTENSIONS.put("xml", "application/xml");
+        EXTENSIONS.put("csv", "text/csv");
+        EXTENSIONS.put("html", "text/html");
+        EXTENSIONS.put("png", "image/png");
+        EXTENSIONS.put("jpg", "image/jpeg");
+        EXTENSIONS.put("jpeg", "image/jpeg");
+        EXTENSIONS.put("gif", "image/gif");
+        EXTENSIONS.put("bmp", "image/bmp");
+    }
+
+    private AttachmentTypes() {
+        throw new IllegalStateException("Do not instance");
+    }
+
+    /**
+     * Returns the normalized type of the attachment, or null if it has no type and no known extension.
+     */
+    public static String typeOf(final Attachment attachment) {
+        if (Objects.nonNull(attachment.getType()) || Objects.isNull(attachment.getSource())) {
+            return normalize(attachment.getType());
+        }
+        return EXTENSIONS.get(FilenameUtils.getExtension(attachment.getSource()).toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Lower cases the type and drops its parameters such as {@code ; charset=utf-8}.
+     */
+    public static String normalize(final String type) {
+        return Objects.isNull(type) ? null : type.split(";", 2)[0].trim().toLowerCase(Locale.ROOT);
+    }
+
+}
@@ -0,0 +1,65 @@
+package io.github.eroshenkoam.allure.attachment;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Amount shared by the attachments of one document. A reader reserves up to its own cap and gives back
+ * what it did not use. The budget also remembers the smallest total that would have shown every
+ * read the same, so a part rendered with its own budget can be checked against what the report has left.
+ */
+final class Budget {
+
+    private final long total;
+    private final AtomicLong remaining;
+    private final AtomicLong needed = new AtomicLong();
+
+    Budget(final long total) {
+        this.total = total;
+        this.remaining = new AtomicLong(total);
+    }
+
+    long reserve(final long wanted) {
+        while (true) {
+            final long current = remaining.get();
+            final long granted = Math.min(current, wanted);
+            if (remaining.compareAndSet(current, current - granted)) {
+                return granted;
+            }
+        }
+    }
+
+    void release(final long unused) {
+        if (unused > 0) {
+            remaining.addAndGet(unused);
+        }
+    }
+
+    /**
+     * Gives back what a reader did not use. A complete read needs only what it used, a truncated one
+     * needs its whole reservation to be truncated at the same place.
+     */
+    void finish(final long unused, final boolean truncated) {
+        final long left = remaining.addAndGet(unused);
+        needed.accumulateAndGet(total - (truncated ? left - unused : left), Math::max);
+    }
+
+    /**
+     * Takes the amount used by a part that was rendered with a budget of its own.
+     */
+    void charge(final long used) {
+        remaining.addAndGet(-used);
+    }
+
+    long remaining() {
+        return remaining.get();
+    }
+
+    long used() {
+        return total - remaining.get();
+    }
+
+    long needed() {
+        return needed.get();
+    }
+
+}
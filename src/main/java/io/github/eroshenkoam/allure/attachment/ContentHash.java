@@ -0,0 +1,35 @@
+package io.github.eroshenkoam.allure.attachment;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Content hashes used to find identical attachments.
+ */
+public final class ContentHash {
+
+    private ContentHash() {
+        throw new IllegalStateException("Do not instance");
+    }
+
+    public static MessageDigest digest() {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static String sha1(final byte[] content) {
+        return hex(digest().digest(content));
+    }
+
+    public static String hex(final byte[] digest) {
+        final StringBuilder hex = new StringBuilder(digest.length * 2);
+        for (final byte b : digest) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+}
@@ -0,0 +1,91 @@
+package io.github.eroshenkoam.allure.attachment;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads comma separated records one by one. Quoted cells may contain separators, line breaks and
+ * doubled quotes. A record is read only while it fits into the given number of bytes, so a huge cell
+ * stops the reader instead of being collected.
+ */
+final class CsvReader implements Closeable {
+
+    private static final char SEPARATOR = ',';
+    private static final char QUOTE = '"';
+
+    private final Reader reader;
+
+    private long size;
+    private boolean truncated;
+
+    CsvReader(final Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Returns cells of the next record, or null at the end of input or when the record is larger than {@code maxBytes}.
+     */
+    List<String> next(final long maxBytes) throws IOException {
+        size = 0;
+        int current = reader.read();
+        if (current == -1) {
+            return null;
+        }
+        final List<String> cells = new ArrayList<>();
+        final StringBuilder cell = new StringBuilder();
+        boolean quoted = false;
+        while (current != -1) {
+            size += TextAttachments.utf8Length((char) current);
+            if (size > maxBytes) {
+                truncated = true;
+                return null;
+            }
+            if (quoted) {
+                if (current == QUOTE) {
+                    current = reader.read();
+                    if (current == QUOTE) {
+                        size++;
+                        cell.append(QUOTE);
+                        current = reader.read();
+                    } else {
+                        quoted = false;
+                    }
+                    continue;
+                }
+                cell.append((char) current);
+            } else if (current == QUOTE && cell.length() == 0) {
+                quoted = true;
+            } else if (current == SEPARATOR) {
+                cells.add(cell.toString());
+                cell.setLength(0);
+            } else if (current == '\n') {
+                break;
+            } else if (current != '\r') {
+                cell.append((char) current);
+            }
+            current = reader.read();
+        }
+        cells.add(cell.toString());
+        return cells;
+    }
+
+    /**
+     * Bytes of the last record, including separators and quotes.
+     */
+    long size() {
+        return size;
+    }
+
+    boolean isTruncated() {
+        return truncated;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+}
@@ -0,0 +1,156 @@
+package io.github.eroshenkoam.allure.attachment;
+
+import com.lowagie.text.Rectangle;
+import com.lowagie.text.pdf.PdfAnnotation;
+import com.lowagie.text.pdf.PdfDictionary;
+import com.lowagie.text.pdf.PdfEFStream;
+import com.lowagie.text.pdf.PdfFileSpecification;
+import com.lowagie.text.pdf.PdfIndirectReference;
+import com.lowagie.text.pdf.PdfName;
+import com.lowagie.text.pdf.PdfNumber;
+import com.lowagie.text.pdf.PdfObject;
+import com.lowagie.text.pdf.PdfStream;
+import com.lowagie.text.pdf.PdfString;
+import com.lowagie.text.pdf.PdfWriter;
+import io.github.eroshenkoam.allure.source.FileRegion;
+import io.github.eroshenkoam.allure.source.ResultSource;
+import io.github.eroshenkoam.allure.source.ResultSources;
+import io.qameta.allure.model.Attachment;
+import org.apache.commons.io.input.BoundedInputStream;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Attachments embedded as files into one pdf writer. Every distinct content is stored once, identical
+ * attachments refer to the same file specification. Content is streamed into the pdf: local files are read
+ * through a file channel and archive entries through their stream, so an attachment is never held on heap.
+ */
+public class EmbeddedAttachments {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final PdfWriter writer;
+    private final Map<String, EmbeddedFile> files = new HashMap<>();
+
+    public EmbeddedAttachments(final PdfWriter writer) {
+        this.writer = writer;
+    }
+
+    public EmbeddedFile embed(final ResultSource source, final Attachment attachment) throws IOException {
+        final MessageDigest digest = ContentHash.digest();
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        long size = 0;
+        try (InputStream stream = open(source, attachment)) {
+            int read;
+            while ((read = stream.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+                size += read;
+            }
+        }
+        final String hash = ContentHash.hex(digest.digest());
+        final EmbeddedFile existing = files.get(hash);
+        if (Objects.nonNull(existing)) {
+            return existing;
+        }
+        final EmbeddedFile file = new EmbeddedFile(writer, write(source, attachment), size);
+        files.put(hash, file);
+        return file;
+    }
+
+    private PdfFileSpecification write(final ResultSource source, final Attachment attachment) throws IOException {
+        final String name = ResultSources.baseName(attachment.getSource());
+        final PdfIndirectReference length = writer.getPdfIndirectReference();
+        final PdfDictionary params = new PdfDictionary();
+        params.put(PdfName.SIZE, length);
+        final PdfIndirectReference content;
+        try (InputStream stream = open(source, attachment)) {
+            final PdfEFStream embedded = new PdfEFStream(stream, writer);
+            embedded.put(PdfName.TYPE, PdfName.EMBEDDEDFILE);
+            embedded.put(PdfName.PARAMS, params);
+            if (Objects.nonNull(attachment.getType())) {
+                embedded.put(PdfName.SUBTYPE, new PdfName(attachment.getType()));
+            }
+            embedded.flateCompress(PdfStream.BEST_SPEED);
+            content = writer.addToBody(embedded).getIndirectReference();
+            embedded.writeLength();
+            writer.addToBody(new PdfNumber(embedded.getRawLength()), length);
+        }
+        final PdfDictionary streams = new PdfDictionary();
+        streams.put(PdfName.F, content);
+        streams.put(PdfName.UF, content);
+        final PdfFileSpecification specification = new FileSpecification(writer);
+        specification.put(PdfName.TYPE, PdfName.FILESPEC);
+        specification.setUnicodeFileName(name, false);
+        specification.put(PdfName.EF, streams);
+        if (Objects.nonNull(attachment.getName())) {
+            specification.put(PdfName.DESC, new PdfString(attachment.getName(), PdfObject.TEXT_UNICODE));
+        }
+        return specification;
+    }
+
+    private static InputStream open(final ResultSource source, final Attachment attachment) throws IOException {
+        final FileRegion region = source.attachmentRegion(attachment.getSource());
+        if (Objects.isNull(region)) {
+            return source.openAttachment(attachment.getSource());
+        }
+        final FileChannel channel = FileChannel.open(region.getFile(), StandardOpenOption.READ);
+        try {
+            channel.position(region.getOffset());
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return new BufferedInputStream(
+                new BoundedInputStream(Channels.newInputStream(channel), region.getLength()), BUFFER_SIZE
+        );
+    }
+
+    /**
+     * File specification that is added to the writer body when first referenced.
+     */
+    private static final class FileSpecification extends PdfFileSpecification {
+
+        private FileSpecification(final PdfWriter writer) {
+            this.writer = writer;
+        }
+
+    }
+
+    /**
+     * Attachment stored in the pdf.
+     */
+    public static final class EmbeddedFile {
+
+        private final PdfWriter writer;
+        private final PdfFileSpecification specification;
+        private final long size;
+
+        private EmbeddedFile(final PdfWriter writer, final PdfFileSpecification specification, final long size) {
+            this.writer = writer;
+            this.specification = specification;
+            this.size = size;
+        }
+
+        /**
+         * Creates annotation that opens the file, it is placed over the chunk it is attached to.
+         */
+        public PdfAnnotation createAnnotation(final String contents) throws IOException {
+            return PdfAnnotation.createFileAttachment(writer, new Rectangle(0, 0), contents, specification);
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+    }
+
+}
@@ -0,0 +1,201 @@
+package io.github.eroshenkoam.allure.attachment;
+
+import com.lowagie.text.BadElementException;
+import com.lowagie.text.Image;
+import io.github.eroshenkoam.allure.source.ResultSource;
+import io.qameta.allure.model.Attachment;
+import io.qameta.allure.model.WithAttachments;
+import io.qameta.allure.model.WithSteps;
+import org.apache.commons.io.IOUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Image attachments of one report. Images are decoded and downscaled to the report resolution by parser threads
+ * ahead of rendering. Decoded images are shared by content hash: every use refers to the same image,
+ * so the writer stores identical screenshots once as a single image object.
+ */
+public class ImageAttachments {
+
+    public static final int DEFAULT_DPI = 96;
+
+    private static final float MAX_WIDTH = 360;
+    private static final float MAX_HEIGHT = 480;
+    private static final float POINTS_PER_INCH = 72;
+    private static final long MAX_CACHED_BYTES = 64 * 1024 * 1024;
+
+    private static final Set<String> TYPES = new HashSet<>(Arrays.asList(ImageIO.getReaderMIMETypes()));
+    private static final Set<String> EMBEDDED_TYPES = new HashSet<>(Arrays.asList(
+            "image/png", "image/jpeg", "image/gif"
+    ));
+
+    private final int dpi;
+    private final Map<String, Image> images = new ConcurrentHashMap<>();
+    private final Map<String, Image> prepared = new ConcurrentHashMap<>();
+    private final AtomicLong cachedBytes = new AtomicLong();
+
+    public ImageAttachments(final int dpi) {
+        this.dpi = dpi;
+    }
+
+    /**
+     * Returns true if the resolved type of the attachment can be decoded, untyped files are checked by extension.
+     */
+    public static boolean isImage(final Attachment attachment) {
+        final String type = AttachmentTypes.typeOf(attachment);
+        return Objects.nonNull(type) && TYPES.contains(type);
+    }
+
+    /**
+     * Decodes images of the given steps in the calling thread, so rendering only has to place them.
+     */
+    public <T extends WithSteps & WithAttachments> void prepare(final ResultSource source,
+                                                                final List<T> steps) throws IOException {
+        if (Objects.isNull(steps)) {
+            return;
+        }
+        for (final T step : steps) {
+            if (Objects.nonNull(step.getAttachments())) {
+                for (final Attachment attachment : step.getAttachments()) {
+                    if (isImage(attachment)) {
+                        final Image image = load(source, attachment);
+                        if (Objects.nonNull(image)) {
+                            prepared.put(key(source, attachment), image);
+                        }
+                    }
+                }
+            }
+            prepare(source, step.getSteps());
+        }
+    }
+
+    /**
+     * Returns image of the attachment, or null if it can not be decoded.
+     */
+    public Image get(final ResultSource source, final Attachment attachment) throws IOException {
+        final Image image = prepared.remove(key(source, attachment));
+        return Objects.nonNull(image) ? image : load(source, attachment);
+    }
+
+    private Image load(final ResultSource source, final Attachment attachment) throws IOException {
+        final byte[] content;
+        try (InputStream stream = source.openAttachment(attachment.getSource())) {
+            content = IOUtils.toByteArray(stream);
+        }
+        final String hash = ContentHash.sha1(content);
+        final Image cached = images.get(hash);
+        if (Objects.nonNull(cached)) {
+            return cached;
+        }
+        final Image image = decode(content, AttachmentTypes.typeOf(attachment));
+        if (Objects.nonNull(image) && reserve(size(image))) {
+            final Image existing = images.putIfAbsent(hash, image);
+            if (Objects.nonNull(existing)) {
+                cachedBytes.addAndGet(-size(image));
+                return existing;
+            }
+        }
+        return image;
+    }
+
+    /**
+     * Counts the image against the cache cap only if it still fits, so images that are not cached
+     * never take space from the ones that follow.
+     */
+    private boolean reserve(final long size) {
+        while (true) {
+            final long current = cachedBytes.get();
+            if (current + size > MAX_CACHED_BYTES) {
+                return false;
+            }
+            if (cachedBytes.compareAndSet(current, current + size)) {
+                return true;
+            }
+        }
+    }
+
+    private Image decode(final byte[] content, final String type) throws IOException {
+        final BufferedImage original = ImageIO.read(new ByteArrayInputStream(content));
+        if (Objects.isNull(original)) {
+            return null;
+        }
+        final float scale = Math.min(1, Math.min(
+                MAX_WIDTH / points(original.getWidth()), MAX_HEIGHT / points(original.getHeight())
+        ));
+        final int width = Math.max(1, Math.round(original.getWidth() * scale));
+        final int height = Math.max(1, Math.round(original.getHeight() * scale));
+        try {
+            final Image image;
+            if (width < original.getWidth()) {
+                image = Image.getInstance(encode(downscale(original, width, height)));
+            } else {
+                image = Image.getInstance(EMBEDDED_TYPES.contains(type) ? content : encode(original));
+            }
+            image.scaleAbsolute(points(width), points(height));
+            return image;
+        } catch (BadElementException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private static long size(final Image image) {
+        return Objects.isNull(image.getRawData()) ? 0 : image.getRawData().length;
+    }
+
+    private float points(final int pixels) {
+        return pixels * POINTS_PER_INCH / dpi;
+    }
+
+    /**
+     * Halves the image while it is more than twice the target, so a bilinear step never skips source pixels.
+     */
+    private static BufferedImage downscale(final BufferedImage original, final int width, final int height) {
+        BufferedImage current = original;
+        int currentWidth = original.getWidth();
+        int currentHeight = original.getHeight();
+        do {
+            currentWidth = Math.max(width, currentWidth / 2);
+            currentHeight = Math.max(height, currentHeight / 2);
+            final BufferedImage next = new BufferedImage(currentWidth, currentHeight, BufferedImage.TYPE_INT_ARGB);
+            final Graphics2D graphics = next.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.drawImage(current, 0, 0, currentWidth, currentHeight, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = next;
+        } while (currentWidth > width || currentHeight > height);
+        return current;
+    }
+
+    private static byte[] encode(final BufferedImage image) {
+        try (ByteArrayOutputStream output = new ByteArrayOutputStream()) {
+            ImageIO.write(image, "png", output);
+            return output.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String key(final ResultSource source, final Attachment attachment) {
+        return source.getName() + "!" + attachment.getSource();
+    }
+
+}
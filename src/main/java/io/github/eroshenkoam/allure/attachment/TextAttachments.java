@@ -0,0 +1,331 @@
+package io.github.eroshenkoam.allure.attachment;
+
+import io.github.eroshenkoam.allure.source.FileRegion;
+import org.apache.commons.io.IOUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Streams text attachments of one report. Text is read character by character up to the attachment caps
+ * and the remaining report budget, so neither a huge file nor a single endless line is ever loaded whole.
+ * The budget is spent in document order: parts rendered concurrently get the whole budget and are checked
+ * against what is left when they are merged, so the shown text never depends on thread scheduling.
+ * In tail mode only the end of an attachment is shown: a local file is mapped and scanned backwards
+ * from its last byte, so the cost does not depend on the attachment size.
+ */
+public class TextAttachments {
+
+    private static final String TAB = "    ";
+
+    private final AttachmentLimits limits;
+    private final Budget bytes;
+    private final Budget lines;
+
+    public TextAttachments(final AttachmentLimits limits) {
+        this(limits, limits.getReportMaxBytes(), limits.getReportMaxLines());
+    }
+
+    private TextAttachments(final AttachmentLimits limits, final long reportBytes, final long reportLines) {
+        this.limits = limits;
+        this.bytes = new Budget(reportBytes);
+        this.lines = new Budget(reportLines);
+    }
+
+    /**
+     * Returns text attachments for a part of the report rendered on its own, with the whole report budget.
+     * The result does not depend on other parts, so parts can be rendered concurrently.
+     */
+    public TextAttachments part() {
+        return new TextAttachments(limits);
+    }
+
+    /**
+     * Returns text attachments for a part of the report limited by what the report has left.
+     */
+    public TextAttachments rest() {
+        return new TextAttachments(limits, bytes.remaining(), lines.remaining());
+    }
+
+    /**
+     * Returns true if the part shows the same text it would show when rendered with {@link #rest()}.
+     */
+    public boolean fits(final TextAttachments part) {
+        return part.bytes.needed() <= bytes.remaining() && part.lines.needed() <= lines.remaining();
+    }
+
+    /**
+     * Charges text shown by a part to the report, parts are charged in document order.
+     */
+    public void charge(final TextAttachments part) {
+        bytes.charge(part.bytes.used());
+        lines.charge(part.lines.used());
+    }
+
+    public TextBlock read(final InputStream stream) throws IOException {
+        return format(stream, TextFormats.plain());
+    }
+
+    /**
+     * Formats an attachment into text until the attachment caps or the report budget are reached.
+     * Formatter errors are passed to the caller, text written before the error is discarded
+     * and is not charged to the report budget.
+     */
+    public TextBlock format(final InputStream stream, final TextFormatter formatter) throws IOException {
+        final CappedText text = new CappedText(
+                bytes.reserve(limits.getMaxBytes()), lines.reserve(limits.getMaxLines())
+        );
+        try (InputStream input = stream) {
+            formatter.format(input, text);
+        } catch (CapReachedException e) {
+            text.truncated = true;
+        } catch (IOException | RuntimeException e) {
+            bytes.release(text.maxBytes);
+            lines.release(text.maxLines);
+            throw e;
+        }
+        bytes.finish(text.maxBytes - text.usedBytes, text.truncated);
+        lines.finish(text.maxLines - text.usedLines, text.truncated);
+        return text.toBlock();
+    }
+
+    /**
+     * Streams rows of a csv attachment to the consumer until the attachment caps or the report budget are
+     * reached, every row counts as one line. Returns the truncation marker, or null if all rows were read.
+     */
+    public String table(final InputStream stream, final Consumer<List<String>> rows) throws IOException {
+        final long maxBytes = bytes.reserve(limits.getMaxBytes());
+        final long maxLines = lines.reserve(limits.getMaxLines());
+        long usedBytes = 0;
+        long usedLines = 0;
+        boolean truncated = false;
+        boolean complete = false;
+        final Reader text = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8));
+        try (CsvReader reader = new CsvReader(text)) {
+            List<String> row;
+            while (Objects.nonNull(row = reader.next(maxBytes - usedBytes))) {
+                if (row.size() == 1 && row.get(0).isEmpty()) {
+                    usedBytes += reader.size();
+                    continue;
+                }
+                if (usedLines == maxLines) {
+                    truncated = true;
+                    break;
+                }
+                usedLines++;
+                usedBytes += reader.size();
+                rows.accept(row);
+            }
+            truncated |= reader.isTruncated();
+            complete = true;
+        } finally {
+            if (complete) {
+                bytes.finish(maxBytes - usedBytes, truncated);
+                lines.finish(maxLines - usedLines, truncated);
+            } else {
+                bytes.release(maxBytes - usedBytes);
+                lines.release(maxLines - usedLines);
+            }
+        }
+        return truncated
+                ? String.format("... truncated after %s rows, %s bytes", usedLines, usedBytes)
+                : null;
+    }
+
+    public TextBlock tail(final FileRegion region) throws IOException {
+        final long window = Math.min(region.getLength(), Math.min(limits.getMaxBytes(), Integer.MAX_VALUE));
+        if (window <= 0) {
+            return tail(ByteBuffer.allocate(0), region.getLength());
+        }
+        try (FileChannel channel = FileChannel.open(region.getFile(), StandardOpenOption.READ)) {
+            final long position = region.getOffset() + region.getLength() - window;
+            return tail(channel.map(FileChannel.MapMode.READ_ONLY, position, window), region.getLength() - window);
+        }
+    }
+
+    /**
+     * Tail of an attachment that can not be mapped. The whole stream is read, but only the last bytes are kept.
+     */
+    public TextBlock tail(final InputStream stream) throws IOException {
+        final int capacity = (int) Math.min(limits.getMaxBytes(), Integer.MAX_VALUE - 8);
+        if (capacity <= 0) {
+            return tail(ByteBuffer.allocate(0), IOUtils.skip(stream, Long.MAX_VALUE));
+        }
+        final byte[] ring = new byte[capacity];
+        final byte[] chunk = new byte[8192];
+        long total = 0;
+        int read;
+        while ((read = stream.read(chunk)) != -1) {
+            int copied = 0;
+            while (copied < read) {
+                final int position = (int) ((total + copied) % capacity);
+                final int length = Math.min(read - copied, capacity - position);
+                System.arraycopy(chunk, copied, ring, position, length);
+                copied += length;
+            }
+            total += read;
+        }
+        final int kept = (int) Math.min(total, capacity);
+        final int first = (int) ((total - kept) % capacity);
+        final byte[] ordered = new byte[kept];
+        final int head = Math.min(kept, capacity - first);
+        System.arraycopy(ring, first, ordered, 0, head);
+        System.arraycopy(ring, 0, ordered, head, kept - head);
+        return tail(ByteBuffer.wrap(ordered), total - kept);
+    }
+
+    private TextBlock tail(final ByteBuffer content, final long skipped) {
+        final long maxBytes = bytes.reserve(limits.getMaxBytes());
+        final long maxLines = lines.reserve(limits.getMaxLines());
+        int end = content.limit();
+        while (end > 0 && isLineBreak(content.get(end - 1))) {
+            end--;
+        }
+        final int floor = (int) Math.max(0, end - maxBytes);
+        long usedLines = end > floor && maxLines > 0 ? 1 : 0;
+        int start = end;
+        while (usedLines > 0 && start > floor) {
+            if (content.get(start - 1) == '\n') {
+                if (usedLines == maxLines) {
+                    break;
+                }
+                usedLines++;
+            }
+            start--;
+        }
+        while (start < end && (content.get(start) & 0xC0) == 0x80) {
+            start++;
+        }
+        final byte[] data = new byte[end - start];
+        final ByteBuffer view = content.duplicate();
+        view.position(start);
+        view.get(data);
+        final boolean truncated = skipped > 0 || start > 0;
+        bytes.finish(maxBytes - data.length, truncated);
+        lines.finish(maxLines - usedLines, truncated);
+        final String text = new String(data, StandardCharsets.UTF_8).replace("\r", "").replace("\t", TAB);
+        final String truncation = truncated
+                ? String.format("... truncated, last %s lines, %s bytes are shown", usedLines, data.length)
+                : null;
+        return new TextBlock(text, truncation, true);
+    }
+
+    private static boolean isLineBreak(final byte value) {
+        return value == '\n' || value == '\r';
+    }
+
+    static int utf8Length(final char value) {
+        if (value < 0x80) {
+            return 1;
+        }
+        if (value < 0x800 || Character.isSurrogate(value)) {
+            return 2;
+        }
+        return 3;
+    }
+
+    /**
+     * Collects formatted text up to the caps, a write past them stops the formatter.
+     */
+    private static final class CappedText extends Writer {
+
+        private final StringBuilder text = new StringBuilder();
+        private final long maxBytes;
+        private final long maxLines;
+
+        private long usedBytes;
+        private long usedLines;
+        private boolean newLine = true;
+        private boolean truncated;
+
+        private CappedText(final long maxBytes, final long maxLines) {
+            this.maxBytes = maxBytes;
+            this.maxLines = maxLines;
+        }
+
+        @Override
+        public void write(final char[] buffer, final int offset, final int length) throws IOException {
+            for (int i = offset; i < offset + length; i++) {
+                write(buffer[i]);
+            }
+        }
+
+        @Override
+        public void write(final int next) throws IOException {
+            final char current = (char) next;
+            final int size = utf8Length(current);
+            if ((newLine && usedLines == maxLines) || usedBytes + size > maxBytes) {
+                throw new CapReachedException();
+            }
+            if (newLine) {
+                usedLines++;
+                newLine = false;
+            }
+            usedBytes += size;
+            if (current == '\n') {
+                newLine = true;
+                text.append(current);
+            } else if (current == '\t') {
+                text.append(TAB);
+            } else if (current != '\r') {
+                text.append(current);
+            }
+        }
+
+        @Override
+        public void write(final String value, final int offset, final int length) throws IOException {
+            for (int i = offset; i < offset + length; i++) {
+                write(value.charAt(i));
+            }
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        private TextBlock toBlock() {
+            while (text.length() > 0 && text.charAt(text.length() - 1) == '\n') {
+                text.setLength(text.length() - 1);
+            }
+            final String truncation = truncated
+                    ? String.format("... truncated after %s lines, %s bytes", usedLines, usedBytes)
+                    : null;
+            return new TextBlock(text.toString(), truncation);
+        }
+
+    }
+
+    /**
+     * Thrown by the capped text to stop a formatter, it carries no stack trace.
+     */
+    private static final class CapReachedException extends IOException {
+
+        private static final long serialVersionUID = 1L;
+
+        private CapReachedException() {
+            super("Attachment caps reached", null);
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+
+    }
+
+}
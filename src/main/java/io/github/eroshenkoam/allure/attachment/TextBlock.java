@@ -0,0 +1,43 @@
+package io.github.eroshenkoam.allure.attachment;
+
+import java.util.Objects;
+
+/**
+ * Text of an attachment as it is shown in the report, with a marker when the text was cut.
+ */
+public class TextBlock {
+
+    private final String text;
+    private final String truncation;
+    private final boolean tail;
+
+    public TextBlock(final String text, final String truncation) {
+        this(text, truncation, false);
+    }
+
+    public TextBlock(final String text, final String truncation, final boolean tail) {
+        this.text = text;
+        this.truncation = truncation;
+        this.tail = tail;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public String getTruncation() {
+        return truncation;
+    }
+
+    public boolean isTruncated() {
+        return Objects.nonNull(truncation);
+    }
+
+    /**
+     * Whether the text is the end of attachment, so the truncation marker goes before it.
+     */
+    public boolean isTail() {
+        return tail;
+    }
+
+}
@@ -0,0 +1,206 @@
+package io.github.eroshenkoam.allure.attachment;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import io.github.eroshenkoam.allure.parser.JsonReaders;
+import org.apache.commons.io.IOUtils;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Streaming formatters of text attachments. Input is read event by event, so formatting never needs
+ * the whole document in memory.
+ */
+public final class TextFormats {
+
+    private static final String INDENT = "  ";
+
+    private static final XMLInputFactory XML_FACTORY = createXmlFactory();
+
+    private static final TextFormatter PLAIN = (input, output) -> IOUtils.copy(
+            new InputStreamReader(input, StandardCharsets.UTF_8), output
+    );
+    private static final TextFormatter JSON = TextFormats::formatJson;
+    private static final TextFormatter XML = TextFormats::formatXml;
+
+    private TextFormats() {
+        throw new IllegalStateException("Do not instance");
+    }
+
+    public static TextFormatter plain() {
+        return PLAIN;
+    }
+
+    /**
+     * Pretty prints json by copying parser events to a generator.
+     */
+    public static TextFormatter json() {
+        return JSON;
+    }
+
+    /**
+     * Indents xml elements one per line, elements with text only are kept on one line.
+     * Adjacent text and CDATA sections are read as one text, so they are shown escaped.
+     */
+    public static TextFormatter xml() {
+        return XML;
+    }
+
+    private static void formatJson(final InputStream input, final Writer output) throws IOException {
+        try (JsonParser parser = JsonReaders.factory().createParser(input)) {
+            final JsonGenerator generator = JsonReaders.factory().createGenerator(output).useDefaultPrettyPrinter();
+            while (Objects.nonNull(parser.nextToken())) {
+                generator.copyCurrentEvent(parser);
+            }
+            generator.flush();
+        }
+    }
+
+    private static void formatXml(final InputStream input, final Writer output) throws IOException {
+        try {
+            final XMLStreamReader reader = XML_FACTORY.createXMLStreamReader(input);
+            try {
+                formatXml(reader, output);
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private static void formatXml(final XMLStreamReader reader, final Writer output)
+            throws XMLStreamException, IOException {
+        int depth = 0;
+        boolean started = false;
+        boolean open = false;
+        boolean inline = false;
+        while (reader.hasNext()) {
+            final int event = reader.next();
+            if (open && event != XMLStreamConstants.END_ELEMENT) {
+                output.write('>');
+                open = false;
+            }
+            switch (event) {
+                case XMLStreamConstants.START_ELEMENT:
+                    started = newLine(output, depth, started);
+                    output.write('<');
+                    output.write(name(reader.getPrefix(), reader.getLocalName()));
+                    for (int i = 0; i < reader.getNamespaceCount(); i++) {
+                        output.write(' ');
+                        output.write(name("xmlns", reader.getNamespacePrefix(i)));
+                        writeValue(output, reader.getNamespaceURI(i));
+                    }
+                    for (int i = 0; i < reader.getAttributeCount(); i++) {
+                        output.write(' ');
+                        output.write(name(reader.getAttributePrefix(i), reader.getAttributeLocalName(i)));
+                        writeValue(output, reader.getAttributeValue(i));
+                    }
+                    depth++;
+                    open = true;
+                    inline = true;
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    depth--;
+                    if (open) {
+                        output.write("/>");
+                        open = false;
+                    } else {
+                        if (!inline) {
+                            started = newLine(output, depth, started);
+                        }
+                        output.write("</");
+                        output.write(name(reader.getPrefix(), reader.getLocalName()));
+                        output.write('>');
+                    }
+                    inline = false;
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                case XMLStreamConstants.SPACE:
+                    if (!reader.isWhiteSpace()) {
+                        if (!inline) {
+                            started = newLine(output, depth, started);
+                        }
+                        writeEscaped(output, reader.getText().trim(), false);
+                    }
+                    break;
+                case XMLStreamConstants.COMMENT:
+                    started = newLine(output, depth, started);
+                    output.write("<!--" + reader.getText() + "-->");
+                    inline = false;
+                    break;
+                case XMLStreamConstants.PROCESSING_INSTRUCTION:
+                    started = newLine(output, depth, started);
+                    output.write("<?" + reader.getPITarget() + " " + reader.getPIData() + "?>");
+                    inline = false;
+                    break;
+                case XMLStreamConstants.DTD:
+                    started = newLine(output, depth, started);
+                    output.write(reader.getText());
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    private static boolean newLine(final Writer output, final int depth, final boolean started) throws IOException {
+        if (started) {
+            output.write('\n');
+        }
+        for (int i = 0; i < depth; i++) {
+            output.write(INDENT);
+        }
+        return true;
+    }
+
+    private static String name(final String prefix, final String local) {
+        if (Objects.isNull(prefix) || prefix.isEmpty()) {
+            return Objects.isNull(local) ? "" : local;
+        }
+        return Objects.isNull(local) || local.isEmpty() ? prefix : prefix + ":" + local;
+    }
+
+    private static void writeValue(final Writer output, final String value) throws IOException {
+        output.write("=\"");
+        writeEscaped(output, value, true);
+        output.write('"');
+    }
+
+    private static void writeEscaped(final Writer output, final String text, final boolean attribute)
+            throws IOException {
+        for (int i = 0; i < text.length(); i++) {
+            final char current = text.charAt(i);
+            if (current == '&') {
+                output.write("&amp;");
+            } else if (current == '<') {
+                output.write("&lt;");
+            } else if (current == '>') {
+                output.write("&gt;");
+            } else if (current == '"' && attribute) {
+                output.write("&quot;");
+            } else {
+                output.write(current);
+            }
+        }
+    }
+
+    private static XMLInputFactory createXmlFactory() {
+        final XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+
+}
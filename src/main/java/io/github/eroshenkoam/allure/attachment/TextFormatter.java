@@ -0,0 +1,16 @@
+package io.github.eroshenkoam.allure.attachment;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+
+/**
+ * Copies an attachment to text as it is shown in the report. Output is written as it is produced,
+ * so the writer can stop a formatter as soon as the attachment caps are reached.
+ */
+@FunctionalInterface
+public interface TextFormatter {
+
+    void format(InputStream input, Writer output) throws IOException;
+
+}
@@ -0,0 +1,175 @@
+package io.github.eroshenkoam.allure.cache;
+
+import io.github.eroshenkoam.allure.source.ResultStamp;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.model.TestResultContainer;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.zip.CRC32;
+
+/**
+ * On-disk cache of parsed result and container projections, one file per entry.
+ * An entry is valid only while the size and modification time of its file are unchanged.
+ * Entries that can not be decoded, for example truncated by a killed run, are deleted and count as misses.
+ */
+public class ResultCache {
+
+    private static final int MAGIC = 0x41504443;
+    private static final int VERSION = 5;
+
+    private final Path directory;
+
+    public ResultCache(final Path directory) throws IOException {
+        this.directory = Files.createDirectories(directory);
+    }
+
+    public TestResult read(final ResultStamp stamp) throws IOException {
+        return read(stamp, ResultCodec::read);
+    }
+
+    public void write(final ResultStamp stamp, final TestResult result) throws IOException {
+        write(stamp, output -> ResultCodec.write(output, result));
+    }
+
+    public TestResultContainer readContainer(final ResultStamp stamp) throws IOException {
+        return read(stamp, ResultCodec::readContainer);
+    }
+
+    public void writeContainer(final ResultStamp stamp, final TestResultContainer container) throws IOException {
+        write(stamp, output -> ResultCodec.writeContainer(output, container));
+    }
+
+    private <T> T read(final ResultStamp stamp, final Decoder<T> decoder) throws IOException {
+        final Path file = file(stamp);
+        final byte[] body;
+        try (InputStream stream = Files.newInputStream(file);
+             DataInputStream input = new DataInputStream(new BufferedInputStream(stream))) {
+            body = readBody(input, stamp, Files.size(file));
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            return null;
+        }
+        if (body == null) {
+            return null;
+        }
+        try {
+            return decoder.decode(new DataInputStream(new ByteArrayInputStream(body)));
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            return null;
+        }
+    }
+
+    /**
+     * Returns checksummed body of an entry written for the same stamp, or null for an outdated entry.
+     */
+    private static byte[] readBody(final DataInputStream input,
+                                   final ResultStamp stamp,
+                                   final long fileSize) throws IOException {
+        final boolean valid = input.readInt() == MAGIC
+                && input.readInt() == VERSION
+                && stamp.getKey().equals(ResultCodec.readString(input))
+                && input.readLong() == stamp.getSize()
+                && input.readLong() == stamp.getLastModified();
+        if (!valid) {
+            return null;
+        }
+        final long checksum = input.readLong();
+        final int length = input.readInt();
+        if (length < 0 || length > fileSize) {
+            throw new IOException("Cache entry has unexpected length");
+        }
+        final byte[] body = new byte[length];
+        input.readFully(body);
+        if (input.read() >= 0) {
+            throw new IOException("Cache entry has unexpected length");
+        }
+        final CRC32 crc = new CRC32();
+        crc.update(body);
+        if (crc.getValue() != checksum) {
+            throw new IOException("Cache entry is corrupted");
+        }
+        return body;
+    }
+
+    private void write(final ResultStamp stamp, final Encoder encoder) throws IOException {
+        final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(body)) {
+            encoder.encode(output);
+        }
+        final CRC32 crc = new CRC32();
+        crc.update(body.toByteArray());
+
+        final Path file = file(stamp);
+        Files.createDirectories(file.getParent());
+        final Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream stream = Files.newOutputStream(temp);
+                 DataOutputStream output = new DataOutputStream(new BufferedOutputStream(stream))) {
+                output.writeInt(MAGIC);
+                output.writeInt(VERSION);
+                ResultCodec.writeString(output, stamp.getKey());
+                output.writeLong(stamp.getSize());
+                output.writeLong(stamp.getLastModified());
+                output.writeLong(crc.getValue());
+                output.writeInt(body.size());
+                body.writeTo(output);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private Path file(final ResultStamp stamp) {
+        final String hash = sha1(stamp.getKey());
+        return directory.resolve(hash.substring(0, 2)).resolve(hash.substring(2) + ".bin");
+    }
+
+    private static String sha1(final String value) {
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-1").digest(value.getBytes(StandardCharsets.UTF_8));
+            final StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (final byte b : digest) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Decoder<T> {
+
+        T decode(DataInput input) throws IOException;
+
+    }
+
+    @FunctionalInterface
+    private interface Encoder {
+
+        void encode(DataOutput output) throws IOException;
+
+    }
+
+}
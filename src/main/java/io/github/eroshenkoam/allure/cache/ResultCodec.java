@@ -0,0 +1,230 @@
+package io.github.eroshenkoam.allure.cache;
+
+import io.qameta.allure.model.Attachment;
+import io.qameta.allure.model.FixtureResult;
+import io.qameta.allure.model.Label;
+import io.qameta.allure.model.Parameter;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.StatusDetails;
+import io.qameta.allure.model.StepResult;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.model.TestResultContainer;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Binary form of the result and container projections produced by
+ * {@link io.github.eroshenkoam.allure.parser.ResultProjectionParser}.
+ */
+public final class ResultCodec {
+
+    private static final int NULL = -1;
+
+    private ResultCodec() {
+        throw new IllegalStateException("Do not instance");
+    }
+
+    public static void write(final DataOutput output, final TestResult result) throws IOException {
+        writeLong(output, result.getStart());
+        writeLong(output, result.getStop());
+        writeString(output, result.getHistoryId());
+        writeString(output, result.getUuid());
+        writeString(output, result.getName());
+        writeStatus(output, result.getStatus());
+        writeList(output, result.getLabels(), (out, label) -> {
+            writeString(out, label.getName());
+            writeString(out, label.getValue());
+        });
+        writeList(output, result.getParameters(), (out, parameter) -> {
+            writeString(out, parameter.getName());
+            writeString(out, parameter.getValue());
+        });
+        writeList(output, result.getSteps(), ResultCodec::writeStep);
+    }
+
+    public static TestResult read(final DataInput input) throws IOException {
+        final TestResult result = new TestResult();
+        result.setStart(readLong(input));
+        result.setStop(readLong(input));
+        result.setHistoryId(readString(input));
+        result.setUuid(readString(input));
+        result.setName(readString(input));
+        result.setStatus(readStatus(input));
+        final List<Label> labels = readList(input, in -> new Label()
+                .setName(readString(in))
+                .setValue(readString(in)));
+        if (Objects.nonNull(labels)) {
+            result.setLabels(labels);
+        }
+        final List<Parameter> parameters = readList(input, in -> new Parameter()
+                .setName(readString(in))
+                .setValue(readString(in)));
+        if (Objects.nonNull(parameters)) {
+            result.setParameters(parameters);
+        }
+        result.setSteps(readList(input, ResultCodec::readStep));
+        return result;
+    }
+
+    public static void writeContainer(final DataOutput output, final TestResultContainer container)
+            throws IOException {
+        writeString(output, container.getUuid());
+        writeList(output, container.getChildren(), ResultCodec::writeString);
+        writeList(output, container.getBefores(), ResultCodec::writeFixture);
+        writeList(output, container.getAfters(), ResultCodec::writeFixture);
+    }
+
+    public static TestResultContainer readContainer(final DataInput input) throws IOException {
+        final TestResultContainer container = new TestResultContainer();
+        container.setUuid(readString(input));
+        container.setChildren(readList(input, ResultCodec::readString));
+        container.setBefores(readList(input, ResultCodec::readFixture));
+        container.setAfters(readList(input, ResultCodec::readFixture));
+        return container;
+    }
+
+    private static void writeStep(final DataOutput output, final StepResult step) throws IOException {
+        writeString(output, step.getName());
+        writeStatus(output, step.getStatus());
+        writeStatusDetails(output, step.getStatusDetails());
+        writeList(output, step.getAttachments(), ResultCodec::writeAttachment);
+        writeList(output, step.getSteps(), ResultCodec::writeStep);
+    }
+
+    private static StepResult readStep(final DataInput input) throws IOException {
+        final StepResult step = new StepResult();
+        step.setName(readString(input));
+        step.setStatus(readStatus(input));
+        step.setStatusDetails(readStatusDetails(input));
+        step.setAttachments(readList(input, ResultCodec::readAttachment));
+        step.setSteps(readList(input, ResultCodec::readStep));
+        return step;
+    }
+
+    private static void writeFixture(final DataOutput output, final FixtureResult fixture) throws IOException {
+        writeString(output, fixture.getName());
+        writeStatus(output, fixture.getStatus());
+        writeStatusDetails(output, fixture.getStatusDetails());
+        writeList(output, fixture.getAttachments(), ResultCodec::writeAttachment);
+        writeList(output, fixture.getSteps(), ResultCodec::writeStep);
+    }
+
+    private static FixtureResult readFixture(final DataInput input) throws IOException {
+        final FixtureResult fixture = new FixtureResult();
+        fixture.setName(readString(input));
+        fixture.setStatus(readStatus(input));
+        fixture.setStatusDetails(readStatusDetails(input));
+        fixture.setAttachments(readList(input, ResultCodec::readAttachment));
+        fixture.setSteps(readList(input, ResultCodec::readStep));
+        return fixture;
+    }
+
+    private static void writeStatusDetails(final DataOutput output, final StatusDetails details) throws IOException {
+        output.writeBoolean(Objects.nonNull(details));
+        if (Objects.nonNull(details)) {
+            writeString(output, details.getMessage());
+        }
+    }
+
+    private static StatusDetails readStatusDetails(final DataInput input) throws IOException {
+        return input.readBoolean() ? new StatusDetails().setMessage(readString(input)) : null;
+    }
+
+    private static void writeAttachment(final DataOutput output, final Attachment attachment) throws IOException {
+        writeString(output, attachment.getName());
+        writeString(output, attachment.getSource());
+        writeString(output, attachment.getType());
+    }
+
+    private static Attachment readAttachment(final DataInput input) throws IOException {
+        return new Attachment()
+                .setName(readString(input))
+                .setSource(readString(input))
+                .setType(readString(input));
+    }
+
+    private static void writeStatus(final DataOutput output, final Status status) throws IOException {
+        output.writeByte(Objects.isNull(status) ? NULL : status.ordinal());
+    }
+
+    private static Status readStatus(final DataInput input) throws IOException {
+        final int ordinal = input.readByte();
+        return ordinal == NULL ? null : Status.values()[ordinal];
+    }
+
+    private static void writeLong(final DataOutput output, final Long value) throws IOException {
+        output.writeBoolean(Objects.nonNull(value));
+        if (Objects.nonNull(value)) {
+            output.writeLong(value);
+        }
+    }
+
+    private static Long readLong(final DataInput input) throws IOException {
+        return input.readBoolean() ? input.readLong() : null;
+    }
+
+    static void writeString(final DataOutput output, final String value) throws IOException {
+        if (Objects.isNull(value)) {
+            output.writeInt(NULL);
+            return;
+        }
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    static String readString(final DataInput input) throws IOException {
+        final int length = input.readInt();
+        if (length == NULL) {
+            return null;
+        }
+        final byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static <T> void writeList(final DataOutput output, final List<T> items,
+                                      final Writer<T> writer) throws IOException {
+        if (Objects.isNull(items)) {
+            output.writeInt(NULL);
+            return;
+        }
+        output.writeInt(items.size());
+        for (final T item : items) {
+            writer.write(output, item);
+        }
+    }
+
+    private static <T> List<T> readList(final DataInput input, final Reader<T> reader) throws IOException {
+        final int size = input.readInt();
+        if (size == NULL) {
+            return null;
+        }
+        final List<T> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            items.add(reader.read(input));
+        }
+        return items;
+    }
+
+    @FunctionalInterface
+    private interface Writer<T> {
+
+        void write(DataOutput output, T value) throws IOException;
+
+    }
+
+    @FunctionalInterface
+    private interface Reader<T> {
+
+        T read(DataInput input) throws IOException;
+
+    }
+
+}
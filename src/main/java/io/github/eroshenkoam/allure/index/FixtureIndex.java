@@ -0,0 +1,60 @@
+package io.github.eroshenkoam.allure.index;
+
+import io.qameta.allure.model.FixtureResult;
+import io.qameta.allure.model.TestResultContainer;
+import org.apache.commons.collections4.CollectionUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Containers joined by the uuid of every child result, so fixtures of a test are found with one lookup.
+ */
+public class FixtureIndex {
+
+    private final Map<String, List<TestResultContainer>> containers = new ConcurrentHashMap<>();
+
+    public void add(final TestResultContainer container) {
+        if (CollectionUtils.isEmpty(container.getBefores()) && CollectionUtils.isEmpty(container.getAfters())) {
+            return;
+        }
+        if (Objects.nonNull(container.getChildren())) {
+            for (final String child : container.getChildren()) {
+                containers.computeIfAbsent(child, uuid -> new CopyOnWriteArrayList<>()).add(container);
+            }
+        }
+    }
+
+    public List<FixtureResult> befores(final String uuid) {
+        final List<FixtureResult> fixtures = new ArrayList<>();
+        for (final TestResultContainer container : containers(uuid)) {
+            if (Objects.nonNull(container.getBefores())) {
+                fixtures.addAll(container.getBefores());
+            }
+        }
+        return fixtures;
+    }
+
+    public List<FixtureResult> afters(final String uuid) {
+        final List<FixtureResult> fixtures = new ArrayList<>();
+        for (final TestResultContainer container : containers(uuid)) {
+            if (Objects.nonNull(container.getAfters())) {
+                fixtures.addAll(container.getAfters());
+            }
+        }
+        return fixtures;
+    }
+
+    private List<TestResultContainer> containers(final String uuid) {
+        if (Objects.isNull(uuid)) {
+            return Collections.emptyList();
+        }
+        return containers.getOrDefault(uuid, Collections.emptyList());
+    }
+
+}
@@ -0,0 +1,71 @@
+package io.github.eroshenkoam.allure.index;
+
+/**
+ * Stable merge sort of primitive ids, so ordering a large index does not box every element.
+ */
+public final class IntSorter {
+
+    private static final int INSERTION_THRESHOLD = 16;
+
+    private IntSorter() {
+        throw new IllegalStateException("Do not instance");
+    }
+
+    public static void sort(final int[] values, final IntComparator comparator) {
+        if (values.length < 2) {
+            return;
+        }
+        final int[] buffer = values.clone();
+        mergeSort(buffer, values, 0, values.length, comparator);
+    }
+
+    private static void mergeSort(final int[] source, final int[] target,
+                                  final int from, final int to, final IntComparator comparator) {
+        if (to - from <= INSERTION_THRESHOLD) {
+            insertionSort(target, from, to, comparator);
+            return;
+        }
+        final int middle = (from + to) >>> 1;
+        mergeSort(target, source, from, middle, comparator);
+        mergeSort(target, source, middle, to, comparator);
+        if (comparator.compare(source[middle - 1], source[middle]) <= 0) {
+            System.arraycopy(source, from, target, from, to - from);
+            return;
+        }
+        for (int i = from, left = from, right = middle; i < to; i++) {
+            if (right >= to || left < middle && comparator.compare(source[left], source[right]) <= 0) {
+                target[i] = source[left++];
+            } else {
+                target[i] = source[right++];
+            }
+        }
+    }
+
+    private static void insertionSort(final int[] values, final int from, final int to,
+                                      final IntComparator comparator) {
+        for (int i = from + 1; i < to; i++) {
+            final int value = values[i];
+            int j = i - 1;
+            while (j >= from && comparator.compare(values[j], value) > 0) {
+                values[j + 1] = values[j];
+                j--;
+            }
+            values[j + 1] = value;
+        }
+    }
+
+    @FunctionalInterface
+    public interface IntComparator {
+
+        int compare(int left, int right);
+
+        default IntComparator thenComparing(final IntComparator next) {
+            return (left, right) -> {
+                final int result = compare(left, right);
+                return result != 0 ? result : next.compare(left, right);
+            };
+        }
+
+    }
+
+}
@@ -0,0 +1,113 @@
+package io.github.eroshenkoam.allure.index;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Latest attempt of every retried test, keyed by history id.
+ * Open addressing table of primitive arrays that keeps only the id of the best attempt and the number of attempts,
+ * history ids themselves are read back from the index when slots collide.
+ */
+public class LatestAttempts {
+
+    private static final int EMPTY = -1;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final ResultIndex index;
+
+    private int[] hashes;
+    private int[] latest;
+    private int[] attempts;
+    private int size;
+    private int retries;
+
+    public LatestAttempts(final ResultIndex index) {
+        this.index = index;
+        allocate(INITIAL_CAPACITY);
+    }
+
+    public void add(final int id) {
+        final String historyId = index.historyId(id);
+        if (Objects.isNull(historyId)) {
+            return;
+        }
+        final int hash = historyId.hashCode();
+        final int slot = find(historyId, hash);
+        if (latest[slot] == EMPTY) {
+            hashes[slot] = hash;
+            latest[slot] = id;
+            attempts[slot] = 1;
+            if (++size * 2 > latest.length) {
+                resize();
+            }
+            return;
+        }
+        attempts[slot]++;
+        retries++;
+        if (index.stop(id) >= index.stop(latest[slot])) {
+            latest[slot] = id;
+        }
+    }
+
+    public boolean isLatest(final int id) {
+        final String historyId = index.historyId(id);
+        if (Objects.isNull(historyId)) {
+            return true;
+        }
+        return latest[find(historyId, historyId.hashCode())] == id;
+    }
+
+    public int retries(final String historyId) {
+        if (Objects.isNull(historyId)) {
+            return 0;
+        }
+        final int slot = find(historyId, historyId.hashCode());
+        return latest[slot] == EMPTY ? 0 : attempts[slot] - 1;
+    }
+
+    public int retries() {
+        return retries;
+    }
+
+    private int find(final String historyId, final int hash) {
+        final int mask = latest.length - 1;
+        int slot = mix(hash) & mask;
+        while (latest[slot] != EMPTY
+                && (hashes[slot] != hash || !historyId.equals(index.historyId(latest[slot])))) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void resize() {
+        final int[] oldHashes = hashes;
+        final int[] oldLatest = latest;
+        final int[] oldAttempts = attempts;
+        allocate(oldLatest.length * 2);
+        final int mask = latest.length - 1;
+        for (int i = 0; i < oldLatest.length; i++) {
+            if (oldLatest[i] != EMPTY) {
+                int slot = mix(oldHashes[i]) & mask;
+                while (latest[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                hashes[slot] = oldHashes[i];
+                latest[slot] = oldLatest[i];
+                attempts[slot] = oldAttempts[i];
+            }
+        }
+    }
+
+    private void allocate(final int capacity) {
+        this.hashes = new int[capacity];
+        this.latest = new int[capacity];
+        this.attempts = new int[capacity];
+        Arrays.fill(latest, EMPTY);
+    }
+
+    private static int mix(final int hash) {
+        final int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+}
@@ -0,0 +1,105 @@
+package io.github.eroshenkoam.allure.index;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Append-only buffer mapped from a temporary file, it is remapped twice as large when full.
+ * Pages are backed by the file, so the buffer takes neither heap nor direct memory and old mappings
+ * are only address space until they are collected.
+ */
+final class OffHeapBuffer implements Closeable {
+
+    private final FileChannel channel;
+
+    private MappedByteBuffer buffer;
+
+    OffHeapBuffer(final int initialCapacity) throws IOException {
+        final Path file = Files.createTempFile("allure-pdf-index", ".bin");
+        this.channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                StandardOpenOption.DELETE_ON_CLOSE);
+        try {
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, initialCapacity);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    int position() {
+        return buffer.position();
+    }
+
+    void putByte(final byte value) {
+        ensure(Byte.BYTES);
+        buffer.put(value);
+    }
+
+    void putInt(final int value) {
+        ensure(Integer.BYTES);
+        buffer.putInt(value);
+    }
+
+    void putLong(final long value) {
+        ensure(Long.BYTES);
+        buffer.putLong(value);
+    }
+
+    void putBytes(final byte[] value) {
+        ensure(value.length);
+        buffer.put(value);
+    }
+
+    byte getByte(final int offset) {
+        return buffer.get(offset);
+    }
+
+    int getInt(final int offset) {
+        return buffer.getInt(offset);
+    }
+
+    long getLong(final int offset) {
+        return buffer.getLong(offset);
+    }
+
+    byte[] getBytes(final int offset, final int length) {
+        final byte[] value = new byte[length];
+        final ByteBuffer view = buffer.duplicate();
+        view.position(offset);
+        view.get(value);
+        return value;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void ensure(final int bytes) {
+        if (buffer.remaining() >= bytes) {
+            return;
+        }
+        final long required = (long) buffer.position() + bytes;
+        final long capacity = Math.max(required, (long) buffer.capacity() * 2);
+        if (required > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Result index does not fit into 2GB buffer");
+        }
+        try {
+            final MappedByteBuffer grown = channel.map(
+                    FileChannel.MapMode.READ_WRITE, 0, Math.min(capacity, Integer.MAX_VALUE)
+            );
+            grown.position(buffer.position());
+            buffer = grown;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
@@ -0,0 +1,195 @@
+package io.github.eroshenkoam.allure.index;
+
+import io.github.eroshenkoam.allure.parser.ResultSummary;
+import io.qameta.allure.model.Label;
+import io.qameta.allure.model.Status;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Compact index of result files kept outside the java heap, in memory-mapped temporary files.
+ * Every result is a fixed size record, entry names, test names and history ids live in a separate string area
+ * and labels are interned, so a record refers to them by id.
+ */
+public class ResultIndex implements Closeable {
+
+    public static final long NO_TIME = -1L;
+
+    private static final int NO_VALUE = -1;
+
+    private static final int SOURCE = 0;
+    private static final int ENTRY = 4;
+    private static final int HISTORY_ID = 8;
+    private static final int LABELS = 12;
+    private static final int START = 16;
+    private static final int STOP = 24;
+    private static final int STATUS = 32;
+    private static final int NAME = 36;
+    private static final int RECORD_SIZE = 40;
+
+    private final OffHeapBuffer records;
+    private final OffHeapBuffer strings;
+    private final OffHeapBuffer labels;
+
+    private final Map<String, Map<String, Integer>> labelIds = new HashMap<>();
+    private final List<Label> labelDictionary = new ArrayList<>();
+
+    private int size;
+
+    public ResultIndex() throws IOException {
+        final List<OffHeapBuffer> opened = new ArrayList<>();
+        try {
+            this.records = open(opened, RECORD_SIZE * 1024);
+            this.strings = open(opened, 64 * 1024);
+            this.labels = open(opened, 16 * 1024);
+        } catch (IOException | RuntimeException e) {
+            for (final OffHeapBuffer buffer : opened) {
+                buffer.close();
+            }
+            throw e;
+        }
+    }
+
+    private static OffHeapBuffer open(final List<OffHeapBuffer> opened, final int capacity) throws IOException {
+        final OffHeapBuffer buffer = new OffHeapBuffer(capacity);
+        opened.add(buffer);
+        return buffer;
+    }
+
+    public int add(final int source, final String entry, final ResultSummary summary) {
+        final int entryOffset = putString(entry);
+        final int historyOffset = putString(summary.getHistoryId());
+        final int labelsOffset = putLabels(summary.getLabels());
+        final int nameOffset = putString(summary.getName());
+        final int base = records.position();
+        records.putInt(source);
+        records.putInt(entryOffset);
+        records.putInt(historyOffset);
+        records.putInt(labelsOffset);
+        records.putLong(Objects.isNull(summary.getStart()) ? NO_TIME : summary.getStart());
+        records.putLong(Objects.isNull(summary.getStop()) ? NO_TIME : summary.getStop());
+        records.putByte((byte) (Objects.isNull(summary.getStatus()) ? NO_VALUE : summary.getStatus().ordinal()));
+        while (records.position() < base + NAME) {
+            records.putByte((byte) 0);
+        }
+        records.putInt(nameOffset);
+        return size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int source(final int id) {
+        return records.getInt(record(id) + SOURCE);
+    }
+
+    public String entry(final int id) {
+        return getString(records.getInt(record(id) + ENTRY));
+    }
+
+    public String name(final int id) {
+        return getString(records.getInt(record(id) + NAME));
+    }
+
+    public String historyId(final int id) {
+        return getString(records.getInt(record(id) + HISTORY_ID));
+    }
+
+    public long start(final int id) {
+        return records.getLong(record(id) + START);
+    }
+
+    public long stop(final int id) {
+        return records.getLong(record(id) + STOP);
+    }
+
+    public Status status(final int id) {
+        final int ordinal = records.getByte(record(id) + STATUS);
+        return ordinal == NO_VALUE ? null : Status.values()[ordinal];
+    }
+
+    public int[] labels(final int id) {
+        final int offset = records.getInt(record(id) + LABELS);
+        final int count = labels.getInt(offset);
+        final int[] ids = new int[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = labels.getInt(offset + Integer.BYTES * (i + 1));
+        }
+        return ids;
+    }
+
+    public String label(final int id, final String name) {
+        for (final int labelId : labels(id)) {
+            final Label label = labelDictionary.get(labelId);
+            if (name.equals(label.getName())) {
+                return label.getValue();
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            records.close();
+        } finally {
+            try {
+                strings.close();
+            } finally {
+                labels.close();
+            }
+        }
+    }
+
+    private int record(final int id) {
+        return id * RECORD_SIZE;
+    }
+
+    private int putLabels(final List<Label> values) {
+        final int offset = labels.position();
+        if (Objects.isNull(values)) {
+            labels.putInt(0);
+            return offset;
+        }
+        labels.putInt(values.size());
+        for (final Label label : values) {
+            labels.putInt(intern(label));
+        }
+        return offset;
+    }
+
+    private int intern(final Label label) {
+        final Map<String, Integer> values = labelIds.computeIfAbsent(label.getName(), name -> new HashMap<>());
+        return values.computeIfAbsent(label.getValue(), value -> {
+            labelDictionary.add(new Label().setName(label.getName()).setValue(value));
+            return labelDictionary.size() - 1;
+        });
+    }
+
+    private int putString(final String value) {
+        if (Objects.isNull(value)) {
+            return NO_VALUE;
+        }
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        final int offset = strings.position();
+        strings.putInt(bytes.length);
+        strings.putBytes(bytes);
+        return offset;
+    }
+
+    private String getString(final int offset) {
+        if (offset == NO_VALUE) {
+            return null;
+        }
+        return new String(strings.getBytes(offset + Integer.BYTES, strings.getInt(offset)), StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,131 @@
+package io.github.eroshenkoam.allure.index;
+
+import io.github.eroshenkoam.allure.index.IntSorter.IntComparator;
+import io.qameta.allure.model.Status;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.function.IntPredicate;
+
+/**
+ * Order of test results in the report. Durations are sorted longest first,
+ * results without a known value go last in every order.
+ */
+public enum ResultOrder {
+
+    START {
+        @Override
+        IntComparator comparator(final ResultIndex index) {
+            return byStart(index);
+        }
+    },
+    STATUS {
+        @Override
+        IntComparator comparator(final ResultIndex index) {
+            final IntComparator byStatus = (left, right) -> Integer.compare(
+                    statusRank(index.status(left)), statusRank(index.status(right))
+            );
+            return byStatus.thenComparing(byStart(index));
+        }
+    },
+    NAME {
+        @Override
+        IntComparator comparator(final ResultIndex index) {
+            final IntComparator byName = (left, right) -> compareNullsLast(index.name(left), index.name(right));
+            return byName.thenComparing(byStart(index));
+        }
+    },
+    DURATION {
+        @Override
+        IntComparator comparator(final ResultIndex index) {
+            final IntComparator byDuration = (left, right) -> Long.compare(duration(index, right), duration(index, left));
+            return byDuration.thenComparing(byStart(index));
+        }
+    },
+    SUITE {
+        @Override
+        IntComparator comparator(final ResultIndex index) {
+            final int[] ranks = suiteRanks(index);
+            final IntComparator bySuite = (left, right) -> Integer.compare(ranks[left], ranks[right]);
+            return bySuite.thenComparing(byStart(index));
+        }
+    };
+
+    private static final String SUITE_LABEL = "suite";
+
+    abstract IntComparator comparator(ResultIndex index);
+
+    public SortedIds sort(final ResultIndex index, final IntPredicate selected, final int bufferSize)
+            throws IOException {
+        return new SortedIds(index.size(), selected, comparator(index), bufferSize);
+    }
+
+    static IntComparator byStart(final ResultIndex index) {
+        final IntComparator byStart = (left, right) -> Long.compare(
+                startKey(index.start(left)), startKey(index.start(right))
+        );
+        return byStart.thenComparing(byEntry(index));
+    }
+
+    static IntComparator byEntry(final ResultIndex index) {
+        final IntComparator bySource = (left, right) -> Integer.compare(index.source(left), index.source(right));
+        return bySource.thenComparing((left, right) -> index.entry(left).compareTo(index.entry(right)));
+    }
+
+    static int statusRank(final Status status) {
+        if (Objects.isNull(status)) {
+            return Status.values().length;
+        }
+        switch (status) {
+            case FAILED:
+                return 0;
+            case BROKEN:
+                return 1;
+            case SKIPPED:
+                return 2;
+            default:
+                return 3;
+        }
+    }
+
+    private static long duration(final ResultIndex index, final int id) {
+        final long start = index.start(id);
+        final long stop = index.stop(id);
+        return start == ResultIndex.NO_TIME || stop == ResultIndex.NO_TIME ? -1 : stop - start;
+    }
+
+    private static int compareNullsLast(final String left, final String right) {
+        if (Objects.isNull(left) || Objects.isNull(right)) {
+            return Boolean.compare(Objects.isNull(left), Objects.isNull(right));
+        }
+        return left.compareTo(right);
+    }
+
+    private static long startKey(final long start) {
+        return start == ResultIndex.NO_TIME ? Long.MAX_VALUE : start;
+    }
+
+    private static int[] suiteRanks(final ResultIndex index) {
+        final String[] suites = new String[index.size()];
+        final TreeSet<String> names = new TreeSet<>();
+        for (int id = 0; id < suites.length; id++) {
+            suites[id] = index.label(id, SUITE_LABEL);
+            if (Objects.nonNull(suites[id])) {
+                names.add(suites[id]);
+            }
+        }
+        final Map<String, Integer> positions = new HashMap<>();
+        for (final String name : names) {
+            positions.put(name, positions.size());
+        }
+        final int[] ranks = new int[suites.length];
+        for (int id = 0; id < suites.length; id++) {
+            ranks[id] = Objects.isNull(suites[id]) ? positions.size() : positions.get(suites[id]);
+        }
+        return ranks;
+    }
+
+}
@@ -0,0 +1,162 @@
+package io.github.eroshenkoam.allure.index;
+
+import io.github.eroshenkoam.allure.index.IntSorter.IntComparator;
+import io.github.eroshenkoam.allure.pipeline.MergingIterator;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.IntPredicate;
+
+/**
+ * Selected index ids in report order. Up to {@code bufferSize} ids are sorted in memory,
+ * larger indexes are sorted in runs that are spilled to temporary files and merged back lazily.
+ */
+public class SortedIds implements Iterator<Integer>, Closeable {
+
+    private final List<Path> runs = new ArrayList<>();
+    private final List<DataInputStream> readers = new ArrayList<>();
+    private final Iterator<Integer> ids;
+
+    SortedIds(final int size, final IntPredicate selected, final IntComparator comparator,
+              final int bufferSize) throws IOException {
+        final int[] buffer = new int[Math.max(1, Math.min(bufferSize, size))];
+        int count = 0;
+        try {
+            for (int id = 0; id < size; id++) {
+                if (selected.test(id)) {
+                    if (count == buffer.length) {
+                        runs.add(spill(sort(buffer, count, comparator)));
+                        count = 0;
+                    }
+                    buffer[count++] = id;
+                }
+            }
+            final int[] last = sort(buffer, count, comparator);
+            if (runs.isEmpty()) {
+                this.ids = Arrays.stream(last).iterator();
+                return;
+            }
+            runs.add(spill(last));
+            final List<Iterator<Integer>> sources = new ArrayList<>();
+            for (final Path run : runs) {
+                final DataInputStream reader = new DataInputStream(new BufferedInputStream(Files.newInputStream(run)));
+                readers.add(reader);
+                sources.add(new RunIterator(reader));
+            }
+            this.ids = new MergingIterator<>(sources, comparator::compare);
+        } catch (IOException | RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    public Iterator<int[]> chunks(final int chunkSize) {
+        return new Iterator<int[]>() {
+            @Override
+            public boolean hasNext() {
+                return ids.hasNext();
+            }
+
+            @Override
+            public int[] next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                final int[] chunk = new int[chunkSize];
+                int count = 0;
+                while (count < chunkSize && ids.hasNext()) {
+                    chunk[count++] = ids.next();
+                }
+                return count == chunkSize ? chunk : Arrays.copyOf(chunk, count);
+            }
+        };
+    }
+
+    public boolean isSpilled() {
+        return !runs.isEmpty();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return ids.hasNext();
+    }
+
+    @Override
+    public Integer next() {
+        return ids.next();
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (final DataInputStream reader : readers) {
+            reader.close();
+        }
+        readers.clear();
+        for (final Path run : runs) {
+            Files.deleteIfExists(run);
+        }
+    }
+
+    private static int[] sort(final int[] buffer, final int count, final IntComparator comparator) {
+        final int[] ids = Arrays.copyOf(buffer, count);
+        IntSorter.sort(ids, comparator);
+        return ids;
+    }
+
+    private static Path spill(final int[] ids) throws IOException {
+        final Path run = Files.createTempFile("allure-pdf-order", ".run");
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run)))) {
+            output.writeInt(ids.length);
+            for (final int id : ids) {
+                output.writeInt(id);
+            }
+        }
+        return run;
+    }
+
+    private static final class RunIterator implements Iterator<Integer> {
+
+        private final DataInputStream reader;
+        private int remaining;
+
+        private RunIterator(final DataInputStream reader) throws IOException {
+            this.reader = reader;
+            this.remaining = reader.readInt();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+
+        @Override
+        public Integer next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            try {
+                remaining--;
+                return reader.readInt();
+            } catch (EOFException e) {
+                throw new IllegalStateException("Sorted run is truncated", e);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,24 @@
+package io.github.eroshenkoam.allure.parser;
+
+import com.fasterxml.jackson.core.JsonFactory;
+
+/**
+ * Json factory is immutable and thread-safe once configured, so it is built once and shared by every parser thread.
+ * Result files used to be bound to {@code TestResult} through a shared {@code ObjectReader}. The streaming
+ * {@link ResultProjectionParser} replaced that reader: it needs no deserializer cache at all and skips the fields
+ * the report does not render, so binding the whole model is never needed. {@code ParserBenchmark} in the test
+ * sources compares a mapper per file, the shared reader and the projection.
+ */
+public final class JsonReaders {
+
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    private JsonReaders() {
+        throw new IllegalStateException("Do not instance");
+    }
+
+    public static JsonFactory factory() {
+        return FACTORY;
+    }
+
+}
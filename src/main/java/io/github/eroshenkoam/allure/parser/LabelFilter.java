@@ -0,0 +1,50 @@
+package io.github.eroshenkoam.allure.parser;
+
+import io.qameta.allure.model.Label;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Matches result labels against required label values.
+ */
+public class LabelFilter {
+
+    private final Map<String, String> expected;
+
+    public LabelFilter(final Map<String, String> expected) {
+        this.expected = new HashMap<>(expected);
+    }
+
+    public boolean isEmpty() {
+        return expected.isEmpty();
+    }
+
+    public boolean matches(final List<Label> labels) {
+        if (isEmpty()) {
+            return true;
+        }
+        if (Objects.isNull(labels)) {
+            return false;
+        }
+        final Set<String> matched = new HashSet<>();
+        for (final Label label : labels) {
+            if (match(matched, label.getName(), label.getValue())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean match(final Set<String> matched, final String name, final String value) {
+        if (Objects.nonNull(name) && Objects.nonNull(value) && value.equals(expected.get(name))) {
+            matched.add(name);
+        }
+        return matched.size() == expected.size();
+    }
+
+}
@@ -0,0 +1,26 @@
+package io.github.eroshenkoam.allure.parser;
+
+import io.qameta.allure.model.TestResult;
+
+/**
+ * Parsed test result together with the file it was read from.
+ */
+public class ParsedResult {
+
+    private final ResultFile file;
+    private final TestResult result;
+
+    public ParsedResult(final ResultFile file, final TestResult result) {
+        this.file = file;
+        this.result = result;
+    }
+
+    public ResultFile getFile() {
+        return file;
+    }
+
+    public TestResult getResult() {
+        return result;
+    }
+
+}
@@ -0,0 +1,33 @@
+package io.github.eroshenkoam.allure.parser;
+
+import io.github.eroshenkoam.allure.source.ResultSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Result file found in one of the result sources.
+ */
+public class ResultFile {
+
+    private final ResultSource source;
+    private final String entry;
+
+    public ResultFile(final ResultSource source, final String entry) {
+        this.source = source;
+        this.entry = entry;
+    }
+
+    public ResultSource getSource() {
+        return source;
+    }
+
+    public String getEntry() {
+        return entry;
+    }
+
+    public InputStream open() throws IOException {
+        return source.open(entry);
+    }
+
+}
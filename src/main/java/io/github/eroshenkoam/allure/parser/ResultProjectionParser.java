@@ -0,0 +1,289 @@
+package io.github.eroshenkoam.allure.parser;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.qameta.allure.model.Attachment;
+import io.qameta.allure.model.FixtureResult;
+import io.qameta.allure.model.Label;
+import io.qameta.allure.model.Parameter;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.StatusDetails;
+import io.qameta.allure.model.StepResult;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.model.TestResultContainer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Streams a result or container file and materializes only the fields the PDF renders,
+ * plus the ones used for ordering and joining fixtures.
+ * Everything else (descriptions, links, traces) is skipped at token level without being decoded.
+ */
+public final class ResultProjectionParser {
+
+    private ResultProjectionParser() {
+        throw new IllegalStateException("Do not instance");
+    }
+
+    public static TestResult read(final InputStream stream) throws IOException {
+        try (JsonParser parser = JsonReaders.factory().createParser(stream)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Result file should contain json object");
+            }
+            return readTestResult(parser);
+        }
+    }
+
+    public static TestResultContainer readContainer(final InputStream stream) throws IOException {
+        try (JsonParser parser = JsonReaders.factory().createParser(stream)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Container file should contain json object");
+            }
+            final TestResultContainer container = new TestResultContainer();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String field = parser.getCurrentName();
+                parser.nextToken();
+                switch (field) {
+                    case "uuid":
+                        container.setUuid(parser.getValueAsString());
+                        break;
+                    case "children":
+                        container.setChildren(readStrings(parser));
+                        break;
+                    case "befores":
+                        container.setBefores(readArray(parser, ResultProjectionParser::readFixture));
+                        break;
+                    case "afters":
+                        container.setAfters(readArray(parser, ResultProjectionParser::readFixture));
+                        break;
+                    default:
+                        parser.skipChildren();
+                }
+            }
+            return container;
+        }
+    }
+
+    private static TestResult readTestResult(final JsonParser parser) throws IOException {
+        final TestResult result = new TestResult();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String field = parser.getCurrentName();
+            parser.nextToken();
+            switch (field) {
+                case "name":
+                    result.setName(parser.getValueAsString());
+                    break;
+                case "status":
+                    result.setStatus(readStatus(parser));
+                    break;
+                case "start":
+                    result.setStart(readLong(parser));
+                    break;
+                case "stop":
+                    result.setStop(readLong(parser));
+                    break;
+                case "uuid":
+                    result.setUuid(parser.getValueAsString());
+                    break;
+                case "historyId":
+                    result.setHistoryId(parser.getValueAsString());
+                    break;
+                case "labels":
+                    final List<Label> labels = readArray(parser, ResultProjectionParser::readLabel);
+                    if (Objects.nonNull(labels)) {
+                        result.setLabels(labels);
+                    }
+                    break;
+                case "parameters":
+                    final List<Parameter> parameters = readArray(parser, ResultProjectionParser::readParameter);
+                    if (Objects.nonNull(parameters)) {
+                        result.setParameters(parameters);
+                    }
+                    break;
+                case "steps":
+                    result.setSteps(readArray(parser, ResultProjectionParser::readStep));
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        return result;
+    }
+
+    private static StepResult readStep(final JsonParser parser) throws IOException {
+        final StepResult step = new StepResult();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String field = parser.getCurrentName();
+            parser.nextToken();
+            switch (field) {
+                case "name":
+                    step.setName(parser.getValueAsString());
+                    break;
+                case "status":
+                    step.setStatus(readStatus(parser));
+                    break;
+                case "statusDetails":
+                    step.setStatusDetails(readStatusDetails(parser));
+                    break;
+                case "attachments":
+                    step.setAttachments(readArray(parser, ResultProjectionParser::readAttachment));
+                    break;
+                case "steps":
+                    step.setSteps(readArray(parser, ResultProjectionParser::readStep));
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        return step;
+    }
+
+    /**
+     * Fixtures have the same rendered fields as steps.
+     */
+    private static FixtureResult readFixture(final JsonParser parser) throws IOException {
+        final StepResult step = readStep(parser);
+        return new FixtureResult()
+                .setName(step.getName())
+                .setStatus(step.getStatus())
+                .setStatusDetails(step.getStatusDetails())
+                .setAttachments(step.getAttachments())
+                .setSteps(step.getSteps());
+    }
+
+    private static StatusDetails readStatusDetails(final JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return null;
+        }
+        final StatusDetails details = new StatusDetails();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String field = parser.getCurrentName();
+            parser.nextToken();
+            if ("message".equals(field)) {
+                details.setMessage(parser.getValueAsString());
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return details;
+    }
+
+    static Label readLabel(final JsonParser parser) throws IOException {
+        final Label label = new Label();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String field = parser.getCurrentName();
+            parser.nextToken();
+            switch (field) {
+                case "name":
+                    label.setName(parser.getValueAsString());
+                    break;
+                case "value":
+                    label.setValue(parser.getValueAsString());
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        return label;
+    }
+
+    private static Parameter readParameter(final JsonParser parser) throws IOException {
+        final Parameter parameter = new Parameter();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String field = parser.getCurrentName();
+            parser.nextToken();
+            switch (field) {
+                case "name":
+                    parameter.setName(parser.getValueAsString());
+                    break;
+                case "value":
+                    parameter.setValue(parser.getValueAsString());
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        return parameter;
+    }
+
+    private static Attachment readAttachment(final JsonParser parser) throws IOException {
+        final Attachment attachment = new Attachment();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String field = parser.getCurrentName();
+            parser.nextToken();
+            switch (field) {
+                case "name":
+                    attachment.setName(parser.getValueAsString());
+                    break;
+                case "source":
+                    attachment.setSource(parser.getValueAsString());
+                    break;
+                case "type":
+                    attachment.setType(parser.getValueAsString());
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        return attachment;
+    }
+
+    static Status readStatus(final JsonParser parser) throws IOException {
+        final String value = parser.getValueAsString();
+        for (final Status status : Status.values()) {
+            if (status.value().equals(value)) {
+                return status;
+            }
+        }
+        return null;
+    }
+
+    static Long readLong(final JsonParser parser) throws IOException {
+        return parser.currentToken().isNumeric() ? parser.getLongValue() : null;
+    }
+
+    private static List<String> readStrings(final JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return null;
+        }
+        final List<String> values = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (parser.currentToken() == JsonToken.VALUE_STRING) {
+                values.add(parser.getText());
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return values;
+    }
+
+    static <T> List<T> readArray(final JsonParser parser, final ElementReader<T> reader) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return null;
+        }
+        final List<T> items = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (parser.currentToken() == JsonToken.START_OBJECT) {
+                items.add(reader.read(parser));
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return items;
+    }
+
+    @FunctionalInterface
+    interface ElementReader<T> {
+
+        T read(JsonParser parser) throws IOException;
+
+    }
+
+}
@@ -0,0 +1,66 @@
+package io.github.eroshenkoam.allure.parser;
+
+import io.qameta.allure.model.Label;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.TestResult;
+
+import java.util.List;
+
+/**
+ * Fields of a result file needed to select and order it before rendering.
+ */
+public class ResultSummary {
+
+    private final ResultFile file;
+    private final String name;
+    private final Status status;
+    private final Long start;
+    private final Long stop;
+    private final String historyId;
+    private final List<Label> labels;
+
+    public ResultSummary(final ResultFile file, final String name, final Status status, final Long start,
+                         final Long stop, final String historyId, final List<Label> labels) {
+        this.file = file;
+        this.name = name;
+        this.status = status;
+        this.start = start;
+        this.stop = stop;
+        this.historyId = historyId;
+        this.labels = labels;
+    }
+
+    public static ResultSummary of(final ResultFile file, final TestResult result) {
+        return new ResultSummary(file, result.getName(), result.getStatus(),
+                result.getStart(), result.getStop(), result.getHistoryId(), result.getLabels());
+    }
+
+    public ResultFile getFile() {
+        return file;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Long getStart() {
+        return start;
+    }
+
+    public Long getStop() {
+        return stop;
+    }
+
+    public String getHistoryId() {
+        return historyId;
+    }
+
+    public List<Label> getLabels() {
+        return labels;
+    }
+
+}
@@ -0,0 +1,70 @@
+package io.github.eroshenkoam.allure.parser;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.qameta.allure.model.Label;
+import io.qameta.allure.model.Status;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Reads only the top-level fields of a result file that go into the result index.
+ * The label filter is checked as soon as the labels array is read, rejected files are abandoned right there.
+ */
+public final class ResultSummaryParser {
+
+    private ResultSummaryParser() {
+        throw new IllegalStateException("Do not instance");
+    }
+
+    public static ResultSummary read(final ResultFile file, final LabelFilter filter) throws IOException {
+        try (InputStream stream = file.open();
+             JsonParser parser = JsonReaders.factory().createParser(stream)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Result file should contain json object");
+            }
+            String name = null;
+            Status status = null;
+            Long start = null;
+            Long stop = null;
+            String historyId = null;
+            List<Label> labels = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String field = parser.getCurrentName();
+                parser.nextToken();
+                switch (field) {
+                    case "name":
+                        name = parser.getValueAsString();
+                        break;
+                    case "status":
+                        status = ResultProjectionParser.readStatus(parser);
+                        break;
+                    case "start":
+                        start = ResultProjectionParser.readLong(parser);
+                        break;
+                    case "stop":
+                        stop = ResultProjectionParser.readLong(parser);
+                        break;
+                    case "historyId":
+                        historyId = parser.getValueAsString();
+                        break;
+                    case "labels":
+                        labels = ResultProjectionParser.readArray(parser, ResultProjectionParser::readLabel);
+                        if (!filter.matches(labels)) {
+                            return null;
+                        }
+                        break;
+                    default:
+                        parser.skipChildren();
+                }
+            }
+            if (!filter.matches(labels)) {
+                return null;
+            }
+            return new ResultSummary(file, name, status, start, stop, historyId, labels);
+        }
+    }
+
+}
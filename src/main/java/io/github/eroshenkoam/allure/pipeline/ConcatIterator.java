@@ -0,0 +1,50 @@
+package io.github.eroshenkoam.allure.pipeline;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Lazily walks the streams opened for every outer element, closing each one once it is drained.
+ * Unlike {@code flatMap(...).iterator()} it never buffers a whole inner stream.
+ */
+public class ConcatIterator<S, T> implements Iterator<T> {
+
+    private final Iterator<S> outer;
+    private final Function<S, Stream<T>> opener;
+
+    private Stream<T> stream;
+    private Iterator<T> current;
+
+    public ConcatIterator(final Iterator<S> outer, final Function<S, Stream<T>> opener) {
+        this.outer = outer;
+        this.opener = opener;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (current == null || !current.hasNext()) {
+            if (stream != null) {
+                stream.close();
+                stream = null;
+                current = null;
+            }
+            if (!outer.hasNext()) {
+                return false;
+            }
+            stream = opener.apply(outer.next());
+            current = stream.iterator();
+        }
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.next();
+    }
+
+}
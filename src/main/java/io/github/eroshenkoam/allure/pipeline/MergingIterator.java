@@ -0,0 +1,61 @@
+package io.github.eroshenkoam.allure.pipeline;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * Streaming k-way merge of already sorted iterators.
+ * Only the current head of every source is held, ties are resolved by source position.
+ */
+public class MergingIterator<T> implements Iterator<T> {
+
+    private final PriorityQueue<Head<T>> heads;
+
+    public MergingIterator(final List<? extends Iterator<? extends T>> sources, final Comparator<? super T> comparator) {
+        final Comparator<Head<T>> byValue = (left, right) -> comparator.compare(left.value, right.value);
+        this.heads = new PriorityQueue<>(Math.max(1, sources.size()), byValue.thenComparingInt(head -> head.index));
+        for (int index = 0; index < sources.size(); index++) {
+            advance(new Head<>(sources.get(index), index));
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !heads.isEmpty();
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        final Head<T> head = heads.poll();
+        final T value = head.value;
+        advance(head);
+        return value;
+    }
+
+    private void advance(final Head<T> head) {
+        if (head.source.hasNext()) {
+            head.value = head.source.next();
+            heads.add(head);
+        }
+    }
+
+    private static final class Head<T> {
+
+        private final Iterator<? extends T> source;
+        private final int index;
+        private T value;
+
+        private Head(final Iterator<? extends T> source, final int index) {
+            this.source = source;
+            this.index = index;
+        }
+
+    }
+
+}
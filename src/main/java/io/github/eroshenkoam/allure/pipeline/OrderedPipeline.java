@@ -0,0 +1,167 @@
+package io.github.eroshenkoam.allure.pipeline;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Maps sources on a worker pool and hands results back in source order.
+ * At most {@code capacity} results are in flight, so a slow consumer holds back the producer.
+ */
+public class OrderedPipeline<S, R> implements AutoCloseable {
+
+    private final ExecutorService producer;
+    private final ExecutorService workers;
+    private final int capacity;
+
+    public OrderedPipeline(final String name, final int threads, final int capacity) {
+        if (threads < 1) {
+            throw new IllegalArgumentException(String.format("Threads count should be positive: %s", threads));
+        }
+        this.producer = Executors.newSingleThreadExecutor(threadFactory(name + "-producer"));
+        this.workers = Executors.newFixedThreadPool(threads, threadFactory(name + "-worker"));
+        this.capacity = Math.max(1, capacity);
+    }
+
+    /**
+     * Returns results in source order. A failure of the source iterator or of a task is rethrown
+     * by the consumer: input and output errors as {@link IOException}, errors as they are.
+     */
+    public Results<R> process(final Iterator<S> sources, final Task<S, R> task) {
+        final BlockingQueue<Future<R>> queue = new ArrayBlockingQueue<>(capacity);
+        final Future<R> end = new CompletableFuture<>();
+        producer.submit(() -> {
+            try {
+                while (sources.hasNext()) {
+                    final S source = sources.next();
+                    queue.put(workers.submit(() -> task.apply(source)));
+                }
+            } catch (Throwable e) {
+                if (e instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+                final CompletableFuture<R> failed = new CompletableFuture<>();
+                failed.completeExceptionally(e);
+                enqueue(queue, failed);
+            } finally {
+                enqueue(queue, end);
+            }
+        });
+        return new Results<R>() {
+
+            private Future<R> next;
+
+            @Override
+            public boolean hasNext() throws IOException {
+                if (next == null) {
+                    next = take(queue);
+                }
+                return next != end;
+            }
+
+            @Override
+            public R next() throws IOException {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                final Future<R> current = next;
+                next = null;
+                return await(current);
+            }
+        };
+    }
+
+    @Override
+    public void close() {
+        producer.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    /**
+     * Puts the future without blocking once the producer is interrupted, so a closed pipeline never hangs.
+     */
+    private static <T> void enqueue(final BlockingQueue<Future<T>> queue, final Future<T> future) {
+        if (Thread.currentThread().isInterrupted()) {
+            queue.offer(future);
+            return;
+        }
+        try {
+            queue.put(future);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            queue.offer(future);
+        }
+    }
+
+    private static <T> Future<T> take(final BlockingQueue<Future<T>> queue) throws IOException {
+        try {
+            return queue.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for pipeline result");
+        }
+    }
+
+    private static <T> T await(final Future<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for pipeline result");
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) cause).getCause();
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    private static ThreadFactory threadFactory(final String name) {
+        final AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            final Thread thread = new Thread(runnable, String.format("%s-%d", name, counter.incrementAndGet()));
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Iterator over pipeline results that rethrows failures as checked exceptions.
+     */
+    public interface Results<R> {
+
+        boolean hasNext() throws IOException;
+
+        R next() throws IOException;
+
+    }
+
+    @FunctionalInterface
+    public interface Task<S, R> {
+
+        R apply(S source) throws Exception;
+
+    }
+
+}
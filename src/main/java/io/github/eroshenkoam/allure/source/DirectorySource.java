@@ -0,0 +1,64 @@
+package io.github.eroshenkoam.allure.source;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.stream.Stream;
+
+/**
+ * Results directory on the file system.
+ */
+public class DirectorySource implements ResultSource {
+
+    private final Path directory;
+    private final ResultsScanner scanner;
+
+    public DirectorySource(final Path directory, final ResultsScanner scanner) {
+        this.directory = directory;
+        this.scanner = scanner;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    @Override
+    public String getName() {
+        return directory.toString();
+    }
+
+    @Override
+    public Stream<String> resultEntries() throws IOException {
+        return scanner.scan(directory).map(path -> directory.relativize(path).toString());
+    }
+
+    @Override
+    public InputStream open(final String entry) throws IOException {
+        return Files.newInputStream(directory.resolve(entry));
+    }
+
+    @Override
+    public ResultStamp stamp(final String entry) throws IOException {
+        final Path path = directory.resolve(entry).toAbsolutePath();
+        final BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        return new ResultStamp(path.toString(), attributes.size(), attributes.lastModifiedTime().toMillis());
+    }
+
+    @Override
+    public InputStream openAttachment(final String source) throws IOException {
+        return Files.newInputStream(directory.resolve(source));
+    }
+
+    @Override
+    public FileRegion attachmentRegion(final String source) throws IOException {
+        final Path path = directory.resolve(source);
+        return new FileRegion(path, 0, Files.size(path));
+    }
+
+    @Override
+    public void close() {
+    }
+
+}
@@ -0,0 +1,32 @@
+package io.github.eroshenkoam.allure.source;
+
+import java.nio.file.Path;
+
+/**
+ * Bytes of an attachment stored as is in a local file, so they can be mapped instead of streamed.
+ */
+public class FileRegion {
+
+    private final Path file;
+    private final long offset;
+    private final long length;
+
+    public FileRegion(final Path file, final long offset, final long length) {
+        this.file = file;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    public long getLength() {
+        return length;
+    }
+
+}
@@ -0,0 +1,42 @@
+package io.github.eroshenkoam.allure.source;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.stream.Stream;
+
+/**
+ * Location with allure result files and their attachments.
+ */
+public interface ResultSource extends Closeable {
+
+    String getName();
+
+    Stream<String> resultEntries() throws IOException;
+
+    InputStream open(String entry) throws IOException;
+
+    ResultStamp stamp(String entry) throws IOException;
+
+    InputStream openAttachment(String source) throws IOException;
+
+    /**
+     * Returns region of a local file with attachment bytes, or null when attachment can only be streamed.
+     */
+    FileRegion attachmentRegion(String source) throws IOException;
+
+    /**
+     * Returns true when attachments can only be read in storage order, so they should be prefetched.
+     */
+    default boolean isSequential() {
+        return false;
+    }
+
+    /**
+     * Reads the given attachments in one pass, so later reads in any order are cheap.
+     */
+    default void prefetch(final Collection<String> sources) throws IOException {
+    }
+
+}
@@ -0,0 +1,49 @@
+package io.github.eroshenkoam.allure.source;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+public final class ResultSources {
+
+    private ResultSources() {
+        throw new IllegalStateException("Do not instance");
+    }
+
+    public static boolean isSupported(final Path path) {
+        return Files.isDirectory(path) || (Files.isRegularFile(path) && isArchive(path));
+    }
+
+    public static ResultSource open(final Path path, final ResultsScanner scanner) throws IOException {
+        if (Files.isDirectory(path)) {
+            return new DirectorySource(path, scanner);
+        }
+        final String name = fileName(path);
+        if (name.endsWith(".zip")) {
+            return new ZipSource(path, scanner);
+        }
+        if (name.endsWith(".tar.gz") || name.endsWith(".tgz")) {
+            return new TarSource(path, true, scanner);
+        }
+        if (name.endsWith(".tar")) {
+            return new TarSource(path, false, scanner);
+        }
+        throw new IllegalArgumentException(String.format("Unsupported results location [%s]", path));
+    }
+
+    public static String baseName(final String entry) {
+        final String normalized = entry.replace('\\', '/');
+        return normalized.substring(normalized.lastIndexOf('/') + 1);
+    }
+
+    private static boolean isArchive(final Path path) {
+        final String name = fileName(path);
+        return name.endsWith(".zip") || name.endsWith(".tar.gz") || name.endsWith(".tgz") || name.endsWith(".tar");
+    }
+
+    private static String fileName(final Path path) {
+        return path.getFileName().toString().toLowerCase(Locale.ROOT);
+    }
+
+}
@@ -0,0 +1,30 @@
+package io.github.eroshenkoam.allure.source;
+
+/**
+ * Identity of a result entry: where it is, how big it is and when it was last modified.
+ */
+public class ResultStamp {
+
+    private final String key;
+    private final long size;
+    private final long lastModified;
+
+    public ResultStamp(final String key, final long size, final long lastModified) {
+        this.key = key;
+        this.size = size;
+        this.lastModified = lastModified;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+
+}
@@ -0,0 +1,154 @@
+package io.github.eroshenkoam.allure.source;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches result directories for new and modified result files, so a file that was incomplete
+ * when it was first seen is reported again as its writer goes on.
+ * Every directory of a source is registered up to the scanner depth, directories created later are registered
+ * and listed as they appear. Archives never change and are not watched.
+ */
+public class ResultWatcher implements Closeable {
+
+    private final WatchService service;
+    private final Map<WatchKey, Watched> keys = new HashMap<>();
+    private final ResultsScanner scanner;
+    private final int maxDepth;
+
+    public ResultWatcher(final List<ResultSource> sources,
+                         final ResultsScanner scanner,
+                         final int maxDepth) throws IOException {
+        this.service = FileSystems.getDefault().newWatchService();
+        this.scanner = scanner;
+        this.maxDepth = maxDepth;
+        try {
+            for (final ResultSource source : sources) {
+                if (source instanceof DirectorySource) {
+                    final DirectorySource directory = (DirectorySource) source;
+                    register(directory, directory.getDirectory(), null);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            service.close();
+            throw e;
+        }
+    }
+
+    public boolean isEmpty() {
+        return keys.isEmpty();
+    }
+
+    /**
+     * Waits for the first change, then keeps collecting until no change comes for {@code debounceMillis},
+     * so results written in a burst are returned together.
+     */
+    public Map<ResultSource, List<String>> poll(final long debounceMillis) throws IOException, InterruptedException {
+        final Map<ResultSource, Set<String>> found = new LinkedHashMap<>();
+        WatchKey key = service.take();
+        while (Objects.nonNull(key)) {
+            handle(key, found);
+            key = service.poll(debounceMillis, TimeUnit.MILLISECONDS);
+        }
+        final Map<ResultSource, List<String>> entries = new LinkedHashMap<>();
+        found.forEach((source, names) -> entries.put(source, new ArrayList<>(names)));
+        return entries;
+    }
+
+    @Override
+    public void close() throws IOException {
+        service.close();
+    }
+
+    private void handle(final WatchKey key, final Map<ResultSource, Set<String>> found) throws IOException {
+        final Watched watched = keys.get(key);
+        if (Objects.isNull(watched)) {
+            key.cancel();
+            return;
+        }
+        for (final WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                register(watched.source, watched.directory, found);
+                continue;
+            }
+            final Path child = watched.directory.resolve((Path) event.context());
+            if (event.kind() == StandardWatchEventKinds.ENTRY_MODIFY) {
+                collect(watched.source, child, found);
+            } else {
+                visit(watched.source, child, found);
+            }
+        }
+        if (!key.reset()) {
+            keys.remove(key);
+        }
+    }
+
+    private void register(final DirectorySource source,
+                          final Path directory,
+                          final Map<ResultSource, Set<String>> found) throws IOException {
+        keys.put(directory.register(service, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY), new Watched(source, directory));
+        try (DirectoryStream<Path> children = Files.newDirectoryStream(directory)) {
+            for (final Path child : children) {
+                visit(source, child, found);
+            }
+        }
+    }
+
+    private void visit(final DirectorySource source,
+                       final Path child,
+                       final Map<ResultSource, Set<String>> found) throws IOException {
+        final String entry = source.getDirectory().relativize(child).toString();
+        if (Objects.nonNull(found) && scanner.accepts(entry)) {
+            found.computeIfAbsent(source, s -> new LinkedHashSet<>()).add(entry);
+        } else if (ResultsScanner.mayBeDirectory(child.getFileName().toString())
+                && depth(entry) < maxDepth
+                && Files.isDirectory(child, LinkOption.NOFOLLOW_LINKS)) {
+            register(source, child, found);
+        }
+    }
+
+    private void collect(final DirectorySource source,
+                         final Path child,
+                         final Map<ResultSource, Set<String>> found) {
+        final String entry = source.getDirectory().relativize(child).toString();
+        if (scanner.accepts(entry)) {
+            found.computeIfAbsent(source, s -> new LinkedHashSet<>()).add(entry);
+        }
+    }
+
+    private static int depth(final String entry) {
+        return entry.replace('\\', '/').split("/").length;
+    }
+
+    private static final class Watched {
+
+        private final DirectorySource source;
+        private final Path directory;
+
+        private Watched(final DirectorySource source, final Path directory) {
+            this.source = source;
+            this.directory = directory;
+        }
+
+    }
+
+}
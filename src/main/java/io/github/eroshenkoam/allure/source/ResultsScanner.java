@@ -0,0 +1,166 @@
+package io.github.eroshenkoam.allure.source;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazily lists result files by name only.
+ * Entries named like attachments or result files are never stat-ed, so attachment blobs cost
+ * one directory entry read each. Any other entry is checked for being a directory.
+ */
+public class ResultsScanner {
+
+    private static final String ATTACHMENT_MARKER = "-attachment";
+    private static final List<String> FILE_SUFFIXES = Arrays.asList(".json", ".properties");
+
+    public static final int UNLIMITED_DEPTH = Integer.MAX_VALUE;
+
+    private final int maxDepth;
+    private final List<String> suffixes;
+
+    public ResultsScanner(final int maxDepth, final String... suffixes) {
+        this.maxDepth = maxDepth;
+        this.suffixes = Arrays.asList(suffixes);
+    }
+
+    public Stream<Path> scan(final Path directory) throws IOException {
+        final Walker walker = new Walker(directory);
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(walker, Spliterator.ORDERED | Spliterator.NONNULL), false
+        ).onClose(walker::close);
+    }
+
+    public boolean accepts(final String entry) {
+        final String[] segments = entry.replace('\\', '/').split("/");
+        return segments.length <= maxDepth && matches(segments[segments.length - 1]);
+    }
+
+    private boolean matches(final String name) {
+        for (final String suffix : suffixes) {
+            if (name.endsWith(suffix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static boolean mayBeDirectory(final String name) {
+        return !isAttachment(name) && FILE_SUFFIXES.stream().noneMatch(name::endsWith);
+    }
+
+    private static boolean isAttachment(final String name) {
+        final int marker = name.lastIndexOf(ATTACHMENT_MARKER);
+        if (marker < 0) {
+            return false;
+        }
+        final int end = marker + ATTACHMENT_MARKER.length();
+        return end == name.length() || name.charAt(end) == '.';
+    }
+
+    private final class Walker implements Iterator<Path>, Closeable {
+
+        private final Deque<Level> levels = new ArrayDeque<>();
+
+        private Path next;
+
+        private Walker(final Path root) throws IOException {
+            if (maxDepth > 0) {
+                open(root, 1);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && !levels.isEmpty()) {
+                final Level level = levels.peek();
+                final Path entry = level.next();
+                if (entry == null) {
+                    levels.pop().close();
+                    continue;
+                }
+                final String name = entry.getFileName().toString();
+                if (matches(name)) {
+                    next = entry;
+                } else if (level.depth < maxDepth && mayBeDirectory(name)
+                        && Files.isDirectory(entry, LinkOption.NOFOLLOW_LINKS)) {
+                    try {
+                        open(entry, level.depth + 1);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public Path next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Path current = next;
+            next = null;
+            return current;
+        }
+
+        @Override
+        public void close() {
+            while (!levels.isEmpty()) {
+                levels.pop().close();
+            }
+        }
+
+        private void open(final Path directory, final int depth) throws IOException {
+            levels.push(new Level(Files.newDirectoryStream(directory), depth));
+        }
+
+    }
+
+    private static final class Level implements Closeable {
+
+        private final DirectoryStream<Path> stream;
+        private final Iterator<Path> entries;
+        private final int depth;
+
+        private Level(final DirectoryStream<Path> stream, final int depth) {
+            this.stream = stream;
+            this.entries = stream.iterator();
+            this.depth = depth;
+        }
+
+        private Path next() {
+            try {
+                return entries.hasNext() ? entries.next() : null;
+            } catch (DirectoryIteratorException e) {
+                throw new UncheckedIOException(e.getCause());
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                stream.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,260 @@
+package io.github.eroshenkoam.allure.source;
+
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.BoundedInputStream;
+import org.apache.commons.io.input.CountingInputStream;
+
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static io.github.eroshenkoam.allure.source.ResultSources.baseName;
+
+/**
+ * Tar (optionally gzipped) archive with results, indexed in a single streaming pass on open.
+ * Result entries are small and are kept in a temporary spool file for random access.
+ * Attachments are only indexed by their offset in the tar stream. A plain tar is read at that offset.
+ * Gzip cannot seek, so attachments of a gzipped archive are spooled on {@link #prefetch} in a second pass,
+ * and any other attachment is read by inflating the archive up to it. Every spool read is positional.
+ */
+public class TarSource implements ResultSource {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path archive;
+    private final boolean gzip;
+    private final FileChannel spool;
+    private final FileChannel attachmentChannel;
+    private final Map<String, Range> results;
+    private final Map<String, Range> attachments;
+    private final Map<String, Range> fetched;
+    private final long lastModified;
+
+    public TarSource(final Path archive, final boolean gzip, final ResultsScanner scanner) throws IOException {
+        this.archive = archive;
+        this.gzip = gzip;
+        this.results = new LinkedHashMap<>();
+        this.attachments = new HashMap<>();
+        this.fetched = new ConcurrentHashMap<>();
+        this.lastModified = Files.getLastModifiedTime(archive).toMillis();
+        final Path spoolFile = Files.createTempFile("allure-pdf", ".spool");
+        this.spool = FileChannel.open(spoolFile, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                StandardOpenOption.DELETE_ON_CLOSE);
+        try {
+            index(scanner);
+            this.attachmentChannel = gzip ? spool : FileChannel.open(archive, StandardOpenOption.READ);
+        } catch (IOException | RuntimeException e) {
+            spool.close();
+            throw e;
+        }
+    }
+
+    private void index(final ResultsScanner scanner) throws IOException {
+        try (CountingInputStream counter = new CountingInputStream(openArchive());
+             TarArchiveInputStream tar = new TarArchiveInputStream(counter)) {
+            TarArchiveEntry entry;
+            while ((entry = tar.getNextTarEntry()) != null) {
+                if (!entry.isFile()) {
+                    continue;
+                }
+                if (scanner.accepts(entry.getName())) {
+                    results.put(entry.getName(), spool(tar, entry.getSize()));
+                } else {
+                    attachments.put(baseName(entry.getName()), new Range(counter.getByteCount(), entry.getSize()));
+                }
+            }
+        }
+    }
+
+    private Range spool(final InputStream entry, final long length) throws IOException {
+        final long position = spool.size();
+        final long size = IOUtils.copyLarge(entry, Channels.newOutputStream(spool), 0, length);
+        if (size != length) {
+            throw new EOFException(String.format("Unexpected end of archive [%s]", archive));
+        }
+        return new Range(position, size);
+    }
+
+    @Override
+    public String getName() {
+        return archive.toString();
+    }
+
+    @Override
+    public Stream<String> resultEntries() {
+        return results.keySet().stream();
+    }
+
+    @Override
+    public InputStream open(final String entry) throws IOException {
+        final Range range = results.get(entry);
+        if (range == null) {
+            throw new NoSuchFileException(String.format("%s!/%s", archive, entry));
+        }
+        return new ChannelRangeInputStream(spool, range.offset, range.length);
+    }
+
+    @Override
+    public ResultStamp stamp(final String entry) throws IOException {
+        final Range range = results.get(entry);
+        if (range == null) {
+            throw new NoSuchFileException(String.format("%s!/%s", archive, entry));
+        }
+        final String key = String.format("%s!/%s", archive.toAbsolutePath(), entry);
+        return new ResultStamp(key, range.length, lastModified);
+    }
+
+    @Override
+    public InputStream openAttachment(final String source) throws IOException {
+        final String name = baseName(source);
+        final Range range = attachments.get(name);
+        if (range == null) {
+            throw new NoSuchFileException(String.format("%s!/%s", archive, source));
+        }
+        if (!gzip) {
+            return new BufferedInputStream(
+                    new ChannelRangeInputStream(attachmentChannel, range.offset, range.length), BUFFER_SIZE
+            );
+        }
+        final Range spooled = fetched.get(name);
+        if (spooled != null) {
+            return new BufferedInputStream(
+                    new ChannelRangeInputStream(spool, spooled.offset, spooled.length), BUFFER_SIZE
+            );
+        }
+        final InputStream stream = openArchive();
+        try {
+            IOUtils.skipFully(stream, range.offset);
+        } catch (IOException e) {
+            stream.close();
+            throw e;
+        }
+        return new BoundedInputStream(stream, range.length);
+    }
+
+    @Override
+    public FileRegion attachmentRegion(final String source) throws IOException {
+        final Range range = attachments.get(baseName(source));
+        if (range == null) {
+            throw new NoSuchFileException(String.format("%s!/%s", archive, source));
+        }
+        return gzip ? null : new FileRegion(archive, range.offset, range.length);
+    }
+
+    @Override
+    public boolean isSequential() {
+        return gzip;
+    }
+
+    @Override
+    public synchronized void prefetch(final Collection<String> sources) throws IOException {
+        if (!gzip) {
+            return;
+        }
+        final Map<String, Range> pending = new HashMap<>();
+        for (final String source : sources) {
+            final String name = baseName(source);
+            final Range range = attachments.get(name);
+            if (range != null && !fetched.containsKey(name)) {
+                pending.put(name, range);
+            }
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+        final List<Map.Entry<String, Range>> ordered = new ArrayList<>(pending.entrySet());
+        ordered.sort(Comparator.comparingLong(entry -> entry.getValue().offset));
+        try (InputStream stream = openArchive()) {
+            long position = 0;
+            for (final Map.Entry<String, Range> entry : ordered) {
+                final Range range = entry.getValue();
+                IOUtils.skipFully(stream, range.offset - position);
+                fetched.put(entry.getKey(), spool(stream, range.length));
+                position = range.offset + range.length;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            spool.close();
+        } finally {
+            attachmentChannel.close();
+        }
+    }
+
+    private InputStream openArchive() throws IOException {
+        final InputStream stream = new BufferedInputStream(Files.newInputStream(archive), BUFFER_SIZE);
+        return gzip ? new GZIPInputStream(stream, BUFFER_SIZE) : stream;
+    }
+
+    private static final class Range {
+
+        private final long offset;
+        private final long length;
+
+        private Range(final long offset, final long length) {
+            this.offset = offset;
+            this.length = length;
+        }
+
+    }
+
+    /**
+     * Positional reads only, so several parser threads can read the spool at once.
+     */
+    private static final class ChannelRangeInputStream extends InputStream {
+
+        private final FileChannel channel;
+        private final long end;
+        private long position;
+
+        private ChannelRangeInputStream(final FileChannel channel, final long offset, final long length) {
+            this.channel = channel;
+            this.position = offset;
+            this.end = offset + length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final byte[] single = new byte[1];
+            return read(single, 0, 1) < 0 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+            if (position >= end) {
+                return -1;
+            }
+            final int count = (int) Math.min(length, end - position);
+            final int read = channel.read(ByteBuffer.wrap(buffer, offset, count), position);
+            if (read > 0) {
+                position += read;
+            }
+            return read;
+        }
+
+    }
+
+}
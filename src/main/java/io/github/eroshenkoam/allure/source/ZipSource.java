@@ -0,0 +1,94 @@
+package io.github.eroshenkoam.allure.source;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import static io.github.eroshenkoam.allure.source.ResultSources.baseName;
+
+/**
+ * Zip archive with results. Entries are read in place through the central directory,
+ * attachments are looked up by file name in an index built once on open.
+ */
+public class ZipSource implements ResultSource {
+
+    private final Path archive;
+    private final ResultsScanner scanner;
+    private final ZipFile zipFile;
+    private final Map<String, ZipEntry> attachments;
+    private final long lastModified;
+
+    public ZipSource(final Path archive, final ResultsScanner scanner) throws IOException {
+        this.archive = archive;
+        this.scanner = scanner;
+        this.zipFile = new ZipFile(archive.toFile());
+        this.lastModified = Files.getLastModifiedTime(archive).toMillis();
+        this.attachments = new HashMap<>();
+        final Enumeration<? extends ZipEntry> entries = zipFile.entries();
+        while (entries.hasMoreElements()) {
+            final ZipEntry entry = entries.nextElement();
+            if (!entry.isDirectory()) {
+                attachments.put(baseName(entry.getName()), entry);
+            }
+        }
+    }
+
+    @Override
+    public String getName() {
+        return archive.toString();
+    }
+
+    @Override
+    public Stream<String> resultEntries() {
+        return zipFile.stream()
+                .filter(entry -> !entry.isDirectory() && scanner.accepts(entry.getName()))
+                .map(ZipEntry::getName);
+    }
+
+    @Override
+    public InputStream open(final String entry) throws IOException {
+        final ZipEntry zipEntry = zipFile.getEntry(entry);
+        if (zipEntry == null) {
+            throw new NoSuchFileException(String.format("%s!/%s", archive, entry));
+        }
+        return zipFile.getInputStream(zipEntry);
+    }
+
+    @Override
+    public ResultStamp stamp(final String entry) throws IOException {
+        final ZipEntry zipEntry = zipFile.getEntry(entry);
+        if (zipEntry == null) {
+            throw new NoSuchFileException(String.format("%s!/%s", archive, entry));
+        }
+        final String key = String.format("%s!/%s", archive.toAbsolutePath(), entry);
+        return new ResultStamp(key, zipEntry.getSize(), Math.max(lastModified, zipEntry.getTime()));
+    }
+
+    @Override
+    public InputStream openAttachment(final String source) throws IOException {
+        final ZipEntry zipEntry = attachments.get(baseName(source));
+        if (zipEntry == null) {
+            throw new NoSuchFileException(String.format("%s!/%s", archive, source));
+        }
+        return zipFile.getInputStream(zipEntry);
+    }
+
+    @Override
+    public FileRegion attachmentRegion(final String source) {
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        zipFile.close();
+    }
+
+}
@@ -0,0 +1,64 @@
+package io.github.eroshenkoam.allure.util;
+
+import com.lowagie.text.Document;
+import com.lowagie.text.Phrase;
+import com.lowagie.text.pdf.PdfPCell;
+import com.lowagie.text.pdf.PdfPTable;
+
+import java.util.Objects;
+
+/**
+ * Table written to the document while its rows are produced. The table is an incomplete large element:
+ * every batch of rows is added to the document and dropped from the table, so memory does not grow
+ * with the number of rows. The first row is a header repeated on every page.
+ * A table without document is kept whole, so it can be nested into other elements.
+ */
+public class StreamingTable {
+
+    private final PdfPTable table;
+    private final Document document;
+    private final int batchSize;
+
+    private int cells;
+    private int pending;
+
+    public StreamingTable(final int columns, final Document document, final int batchSize) {
+        this.table = new PdfPTable(columns);
+        this.document = document;
+        this.batchSize = batchSize;
+        table.setWidthPercentage(100);
+        table.setHeaderRows(1);
+        table.setComplete(Objects.isNull(document));
+    }
+
+    public int getColumns() {
+        return table.getNumberOfColumns();
+    }
+
+    public void addCell(final Phrase phrase) {
+        final PdfPCell cell = new PdfPCell(phrase);
+        cell.setPadding(2);
+        cell.setBorderWidth(0.5f);
+        table.addCell(cell);
+        if (++cells % table.getNumberOfColumns() == 0 && cells > table.getNumberOfColumns()) {
+            pending++;
+            if (Objects.nonNull(document) && pending >= batchSize) {
+                document.add(table);
+                pending = 0;
+            }
+        }
+    }
+
+    /**
+     * Writes the remaining rows to the document and returns null, or returns the whole table to be nested.
+     */
+    public PdfPTable finish() {
+        if (Objects.isNull(document)) {
+            return table;
+        }
+        table.setComplete(true);
+        document.add(table);
+        return null;
+    }
+
+}
@@ -0,0 +1,210 @@
+package io.github.eroshenkoam.allure;
+
+import com.lowagie.text.pdf.PdfName;
+import com.lowagie.text.pdf.PdfReader;
+import com.lowagie.text.pdf.parser.PdfTextExtractor;
+import io.github.eroshenkoam.allure.attachment.AttachmentLimits;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static io.github.eroshenkoam.allure.AllureResults.count;
+import static io.github.eroshenkoam.allure.AllureResults.streams;
+import static io.github.eroshenkoam.allure.AllureResults.text;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class AllurePDFGeneratorTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private AllureResults results;
+    private Path output;
+
+    @Before
+    public void setUp() throws IOException {
+        results = new AllureResults(folder.newFolder("allure-results").toPath());
+        output = folder.getRoot().toPath().resolve("report.pdf");
+    }
+
+    @Test
+    public void shouldAppendOnlyNewResults() throws IOException {
+        results.result("first", 1000).result("second", 2000);
+        appending().generate(output);
+
+        results.result("third", 3000);
+        appending().generate(output);
+        appending().generate(output);
+
+        final String text = text(output);
+        assertEquals(1, count(text, "Test first"));
+        assertEquals(1, count(text, "Test second"));
+        assertEquals(1, count(text, "Test third"));
+        final PdfReader reader = new PdfReader(output.toString());
+        try {
+            assertEquals("3", reader.getInfo().get("Results"));
+            assertEquals(3, ReportManifest.read(reader).size());
+        } finally {
+            reader.close();
+        }
+    }
+
+    @Test
+    public void shouldRenderChunksInReportOrder() throws IOException {
+        for (int i = 0; i < 20; i++) {
+            results.result(String.format("t%02d", i), 1000 + (i * 7) % 20);
+        }
+        chunked().generate(output);
+
+        final String text = text(output);
+        assertEquals(1, count(text, "Allure Report"));
+        int previous = -1;
+        for (int i = 0; i < 20; i++) {
+            final String name = String.format("Test t%02d", i * 3 % 20);
+            assertEquals(1, count(text, name));
+            assertTrue(text.indexOf(name) > previous);
+            previous = text.indexOf(name);
+        }
+    }
+
+    @Test
+    public void shouldSpendTextBudgetInReportOrder() throws IOException {
+        for (int i = 0; i < 12; i++) {
+            final String uuid = String.format("t%02d", i);
+            final byte[] content = String.format("line %1$s one%nline %1$s two%n", uuid).getBytes(UTF_8);
+            results.result(uuid, 1000 + i, results.attachment(uuid + ".txt", "text/plain", content));
+        }
+        final AttachmentLimits limits = new AttachmentLimits(1024, 100, 1024, 15);
+        final AllurePDFGenerator single = generator();
+        single.attachmentLimits(limits);
+        single.generate(output);
+        final String expected = text(output);
+
+        final AllurePDFGenerator chunked = chunked();
+        chunked.attachmentLimits(limits);
+        chunked.generate(output);
+        final String actual = text(output);
+
+        assertEquals(8, count(expected, " one"));
+        assertEquals(7, count(expected, " two"));
+        for (int i = 0; i < 12; i++) {
+            for (String line : new String[]{"one", "two"}) {
+                final String value = String.format("line t%02d %s", i, line);
+                assertEquals(value, count(expected, value), count(actual, value));
+            }
+        }
+        assertEquals(count(expected, "truncated"), count(actual, "truncated"));
+    }
+
+    @Test
+    public void shouldStoreSharedImageOnceInChunkedReport() throws IOException {
+        final byte[] screenshot = AllureResults.png(64, 48);
+        for (int i = 0; i < 12; i++) {
+            final String uuid = String.format("t%02d", i);
+            results.result(uuid, 1000 + i, results.attachment(uuid + ".png", "image/png", screenshot));
+        }
+        generator().generate(output);
+        final int expected = streams(output, PdfName.SUBTYPE, PdfName.IMAGE);
+
+        chunked().generate(output);
+
+        assertEquals(1, expected);
+        assertEquals(expected, streams(output, PdfName.SUBTYPE, PdfName.IMAGE));
+    }
+
+    @Test
+    public void shouldRenderUntypedImageByExtension() throws IOException {
+        results.result("first", 1000, results.attachment("screen.png", null, AllureResults.png(64, 48)));
+        final AllurePDFGenerator generator = generator();
+        generator.embedAttachments(true);
+        generator.generate(output);
+
+        assertEquals(1, streams(output, PdfName.SUBTYPE, PdfName.IMAGE));
+        assertEquals(0, streams(output, PdfName.TYPE, PdfName.EMBEDDEDFILE));
+    }
+
+    @Test
+    public void shouldEmbedSharedAttachmentOnceInChunkedReport() throws IOException {
+        final byte[] payload = "{\"status\":\"ok\"}".getBytes(UTF_8);
+        for (int i = 0; i < 12; i++) {
+            final String uuid = String.format("t%02d", i);
+            results.result(uuid, 1000 + i, results.attachment(uuid + ".json", "application/json", payload));
+        }
+        final AllurePDFGenerator generator = chunked();
+        generator.renderChunkSize(5);
+        generator.embedAttachments(true);
+        generator.generate(output);
+
+        assertEquals(1, streams(output, PdfName.TYPE, PdfName.EMBEDDEDFILE));
+        assertEquals(12, count(text(output), "step of t"));
+    }
+
+    @Test
+    public void shouldLinkAppendixEntriesToTheirPages() throws IOException {
+        final StringBuilder log = new StringBuilder();
+        for (int line = 0; line < 80; line++) {
+            log.append("log line ").append(line).append('\n');
+        }
+        final byte[] content = log.toString().getBytes(UTF_8);
+        for (int i = 0; i < 6; i++) {
+            final String uuid = String.format("t%02d", i);
+            results.result(uuid, 1000 + i, results.attachment(uuid + ".txt", "text/plain", content));
+        }
+        final AllurePDFGenerator generator = generator();
+        generator.attachmentAppendix(true);
+        generator.generate(output);
+
+        final List<String> titlePages = new ArrayList<>();
+        final List<String> linkedPages = new ArrayList<>();
+        final PdfReader reader = new PdfReader(output.toString());
+        try {
+            final PdfTextExtractor extractor = new PdfTextExtractor(reader);
+            for (int page = 1; page <= reader.getNumberOfPages(); page++) {
+                final String text = extractor.getTextFromPage(page);
+                for (int i = 0; i < 6; i++) {
+                    if (text.contains(String.format("%s. t%02d.txt (text/plain)", i + 1, i))) {
+                        titlePages.add(String.valueOf(page));
+                    }
+                }
+                final Matcher link = Pattern.compile("see page (\\d+)").matcher(text);
+                while (link.find()) {
+                    linkedPages.add(link.group(1));
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        assertEquals(6, titlePages.size());
+        assertTrue(new HashSet<>(titlePages).size() > 1);
+        assertEquals(titlePages, linkedPages);
+    }
+
+    private AllurePDFGenerator generator() {
+        return new AllurePDFGenerator("report", results.getDirectory(), new StatusColors());
+    }
+
+    private AllurePDFGenerator chunked() {
+        final AllurePDFGenerator generator = generator();
+        generator.threads(4);
+        generator.renderChunkSize(3);
+        return generator;
+    }
+
+    private AllurePDFGenerator appending() {
+        final AllurePDFGenerator generator = generator();
+        generator.append(true);
+        return generator;
+    }
+
+}
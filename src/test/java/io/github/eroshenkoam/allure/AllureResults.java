@@ -0,0 +1,101 @@
+package io.github.eroshenkoam.allure;
+
+import com.lowagie.text.pdf.PdfDictionary;
+import com.lowagie.text.pdf.PdfName;
+import com.lowagie.text.pdf.PdfObject;
+import com.lowagie.text.pdf.PdfReader;
+import com.lowagie.text.pdf.parser.PdfTextExtractor;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * Writes allure result files with one step and its attachments for generator tests, and reads generated reports.
+ */
+final class AllureResults {
+
+    private final Path directory;
+
+    AllureResults(final Path directory) {
+        this.directory = directory;
+    }
+
+    Path getDirectory() {
+        return directory;
+    }
+
+    AllureResults result(final String uuid, final long start, final String... attachments) throws IOException {
+        final String json = String.format("{\"uuid\":\"%1$s\",\"historyId\":\"%1$s\",\"name\":\"Test %1$s\","
+                        + "\"status\":\"passed\",\"start\":%2$d,\"stop\":%3$d,"
+                        + "\"steps\":[{\"name\":\"step of %1$s\",\"status\":\"passed\",\"attachments\":[%4$s]}]}",
+                uuid, start, start + 1, String.join(",", attachments));
+        Files.write(directory.resolve(uuid + "-result.json"), json.getBytes(StandardCharsets.UTF_8));
+        return this;
+    }
+
+    String attachment(final String source, final String type, final byte[] content) throws IOException {
+        Files.write(directory.resolve(source), content);
+        return Objects.isNull(type)
+                ? String.format("{\"name\":\"%1$s\",\"source\":\"%1$s\"}", source)
+                : String.format("{\"name\":\"%1$s\",\"source\":\"%1$s\",\"type\":\"%2$s\"}", source, type);
+    }
+
+    static byte[] png(final int width, final int height) throws IOException {
+        final BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        final Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.ORANGE);
+        graphics.fillRect(0, 0, width / 2, height / 2);
+        graphics.dispose();
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", output);
+        return output.toByteArray();
+    }
+
+    static String text(final Path report) throws IOException {
+        final PdfReader reader = new PdfReader(report.toString());
+        try {
+            final PdfTextExtractor extractor = new PdfTextExtractor(reader);
+            final StringBuilder text = new StringBuilder();
+            for (int page = 1; page <= reader.getNumberOfPages(); page++) {
+                text.append(extractor.getTextFromPage(page)).append('\n');
+            }
+            return text.toString();
+        } finally {
+            reader.close();
+        }
+    }
+
+    static int streams(final Path report, final PdfName key, final PdfName value) throws IOException {
+        final PdfReader reader = new PdfReader(report.toString());
+        try {
+            int count = 0;
+            for (int index = 1; index < reader.getXrefSize(); index++) {
+                final PdfObject object = reader.getPdfObject(index);
+                if (Objects.nonNull(object) && object.isStream()
+                        && value.equals(((PdfDictionary) object).getAsName(key))) {
+                    count++;
+                }
+            }
+            return count;
+        } finally {
+            reader.close();
+        }
+    }
+
+    static int count(final String text, final String value) {
+        int count = 0;
+        for (int index = text.indexOf(value); index >= 0; index = text.indexOf(value, index + value.length())) {
+            count++;
+        }
+        return count;
+    }
+
+}
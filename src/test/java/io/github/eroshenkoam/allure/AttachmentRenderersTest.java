@@ -0,0 +1,57 @@
+package io.github.eroshenkoam.allure;
+
+import io.github.eroshenkoam.allure.attachment.AttachmentLimits;
+import io.github.eroshenkoam.allure.attachment.ImageAttachments;
+import io.github.eroshenkoam.allure.attachment.TextAttachments;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class AttachmentRenderersTest {
+
+    private AttachmentRenderers renderers;
+
+    @Before
+    public void setUp() throws IOException {
+        renderers = new AttachmentRenderers(
+                new TextAttachments(AttachmentLimits.defaults()), new ImageAttachments(ImageAttachments.DEFAULT_DPI),
+                null, FontHolder.loadArialFont(), false, 100
+        );
+    }
+
+    @Test
+    public void shouldFindRendererByExactTypeWithoutParameters() {
+        assertSame(renderers.find("application/json"), renderers.find("Application/JSON; charset=utf-8"));
+        assertNotSame(renderers.find("application/json"), renderers.find("text/plain"));
+    }
+
+    @Test
+    public void shouldFindRendererBySuffixThenFamily() {
+        assertSame(renderers.find("+json"), renderers.find("application/problem+json"));
+        assertSame(renderers.find("+xml"), renderers.find("image/svg+xml"));
+        assertSame(renderers.find("text/*"), renderers.find("text/markdown"));
+        assertSame(renderers.find("image/*"), renderers.find("image/png"));
+    }
+
+    @Test
+    public void shouldRenderUnknownTypesAsBinary() {
+        final AttachmentRenderer binary = renderers.find(AttachmentRenderers.BINARY);
+
+        assertSame(binary, renderers.find("application/zip"));
+        assertSame(binary, renderers.find("video"));
+        assertSame(binary, renderers.find(null));
+    }
+
+    @Test
+    public void shouldUseRegisteredRendererForType() {
+        final AttachmentRenderer custom = (source, attachment, color) -> null;
+        renderers.register("Text/CSV", custom);
+
+        assertSame(custom, renderers.find("text/csv"));
+    }
+
+}
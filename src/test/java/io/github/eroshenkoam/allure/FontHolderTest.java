@@ -0,0 +1,49 @@
+package io.github.eroshenkoam.allure;
+
+import com.lowagie.text.Font;
+import org.junit.Test;
+
+import java.awt.Color;
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class FontHolderTest {
+
+    @Test
+    public void shouldReuseFontsBySizeStyleAndColor() throws IOException {
+        final FontHolder fontHolder = FontHolder.loadArialFont();
+
+        assertSame(fontHolder.normal(), fontHolder.normal());
+        assertSame(fontHolder.normal(), fontHolder.normal(null));
+        assertSame(fontHolder.bold(Color.RED), fontHolder.bold(new Color(255, 0, 0)));
+        assertNotSame(fontHolder.bold(Color.RED), fontHolder.bold(Color.GREEN));
+        assertNotSame(fontHolder.normal(Color.RED), fontHolder.bold(Color.RED));
+    }
+
+    @Test
+    public void shouldLoadFontProgramOncePerProcess() throws IOException {
+        final FontHolder first = FontHolder.loadArialFont();
+        final FontHolder second = FontHolder.loadArialFont();
+
+        assertSame(first, second);
+        assertSame(first.normal().getBaseFont(), second.header2(Color.RED).getBaseFont());
+    }
+
+    @Test
+    public void shouldKeepSizeStyleAndColorOfVariants() throws IOException {
+        final FontHolder fontHolder = FontHolder.loadArialFont();
+
+        final Font header = fontHolder.header4(Color.BLUE);
+        assertEquals(10, header.getSize(), 0);
+        assertEquals(Font.BOLD, header.getStyle());
+        assertEquals(Color.BLUE, header.getColor());
+        assertNull(fontHolder.header1().getColor());
+        assertEquals(22, fontHolder.header1().getSize(), 0);
+        assertEquals(8, fontHolder.normal().getSize(), 0);
+    }
+
+}
@@ -0,0 +1,33 @@
+package io.github.eroshenkoam.allure;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import picocli.CommandLine;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class MainCommandTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void shouldRejectAppendWithSkippedRetries() throws IOException {
+        final Path results = folder.newFolder("allure-results").toPath();
+        final Path output = folder.getRoot().toPath().resolve("report.pdf");
+
+        final int exitCode = new CommandLine(new MainCommand()).execute(
+                results.toString(), "-o", output.toString(), "--append", "--skip-retries"
+        );
+
+        assertEquals(CommandLine.ExitCode.USAGE, exitCode);
+        assertFalse(Files.exists(output));
+    }
+
+}
@@ -0,0 +1,40 @@
+package io.github.eroshenkoam.allure;
+
+import io.qameta.allure.model.Status;
+import org.junit.Test;
+
+import java.awt.Color;
+
+import static org.junit.Assert.assertEquals;
+
+public class StatusColorsTest {
+
+    @Test
+    public void shouldUseDefaultColors() {
+        final StatusColors statusColors = new StatusColors();
+
+        assertEquals(new Color(0x97, 0xcc, 0x64), statusColors.getStatusColor(Status.PASSED));
+        assertEquals(new Color(0xfd, 0x5a, 0x3e), statusColors.getStatusColor(Status.FAILED));
+        assertEquals(new Color(0xaa, 0xaa, 0xaa), statusColors.getStatusColor(Status.SKIPPED));
+    }
+
+    @Test
+    public void shouldOverrideColorAndKeepItWhenNoneGiven() {
+        final StatusColors statusColors = new StatusColors();
+        statusColors.setStatusColors(Status.BROKEN, "#123456");
+        statusColors.setStatusColors(Status.BROKEN, null);
+
+        assertEquals(new Color(0x12, 0x34, 0x56), statusColors.getStatusColor(Status.BROKEN));
+    }
+
+    @Test
+    public void shouldUseUnknownColorWithoutStatus() {
+        assertEquals(new Color(0xBF, 0x98, 0xA6), new StatusColors().getStatusColor(null));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectInvalidColor() {
+        new StatusColors().setStatusColors(Status.PASSED, "green");
+    }
+
+}
@@ -0,0 +1,40 @@
+package io.github.eroshenkoam.allure.attachment;
+
+import io.qameta.allure.model.Attachment;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class AttachmentTypesTest {
+
+    @Test
+    public void shouldNormalizeGivenType() {
+        final Attachment attachment = attachment("a.txt", "Application/JSON; charset=utf-8");
+
+        assertEquals("application/json", AttachmentTypes.typeOf(attachment));
+    }
+
+    @Test
+    public void shouldResolveMissingTypeByExtension() {
+        assertEquals("image/png", AttachmentTypes.typeOf(attachment("screen.PNG", null)));
+        assertEquals("image/jpeg", AttachmentTypes.typeOf(attachment("screen.jpg", null)));
+        assertNull(AttachmentTypes.typeOf(attachment("dump.bin", null)));
+        assertNull(AttachmentTypes.typeOf(attachment(null, null)));
+    }
+
+    @Test
+    public void shouldDetectImagesByResolvedType() {
+        assertTrue(ImageAttachments.isImage(attachment("screen.png", null)));
+        assertTrue(ImageAttachments.isImage(attachment("screen", "image/PNG")));
+        assertFalse(ImageAttachments.isImage(attachment("screen.png", "text/plain")));
+        assertFalse(ImageAttachments.isImage(attachment("notes.txt", null)));
+    }
+
+    private static Attachment attachment(final String source, final String type) {
+        return new Attachment().setSource(source).setType(type);
+    }
+
+}
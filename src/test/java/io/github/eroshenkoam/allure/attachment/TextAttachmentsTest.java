@@ -0,0 +1,98 @@
+package io.github.eroshenkoam.allure.attachment;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TextAttachmentsTest {
+
+    @Test
+    public void shouldTruncateAttachmentAtLineCap() throws IOException {
+        final TextAttachments texts = new TextAttachments(new AttachmentLimits(1000, 2, 10_000, 10_000));
+
+        final TextBlock block = texts.read(stream("a\nb\nc\n"));
+
+        assertEquals("a\nb", block.getText());
+        assertEquals("... truncated after 2 lines, 4 bytes", block.getTruncation());
+    }
+
+    @Test
+    public void shouldTruncateLaterAttachmentsAtReportBudget() throws IOException {
+        final TextAttachments texts = new TextAttachments(new AttachmentLimits(10, 100, 15, 100));
+
+        assertFalse(texts.read(stream("0123456789")).isTruncated());
+        final TextBlock second = texts.read(stream("abcdefghij"));
+
+        assertEquals("abcde", second.getText());
+        assertTrue(second.isTruncated());
+        assertEquals("", texts.read(stream("xyz")).getText());
+    }
+
+    @Test
+    public void shouldNotChargeTextOfFailedFormatter() throws IOException {
+        final TextAttachments texts = new TextAttachments(new AttachmentLimits(10, 100, 10, 100));
+
+        try {
+            texts.format(stream("ignored"), (input, output) -> {
+                output.write("0123456789");
+                throw new IOException("broken");
+            });
+            fail("formatter error is expected");
+        } catch (IOException e) {
+            assertEquals("broken", e.getMessage());
+        }
+
+        final TextBlock block = texts.read(stream("abcdefghij"));
+        assertEquals("abcdefghij", block.getText());
+        assertNull(block.getTruncation());
+    }
+
+    @Test
+    public void shouldRenderPartsWithWholeBudgetAndCheckThemInDocumentOrder() throws IOException {
+        final TextAttachments report = new TextAttachments(new AttachmentLimits(10, 100, 15, 100));
+        final TextAttachments first = report.part();
+        final TextAttachments second = report.part();
+        final TextAttachments third = report.part();
+
+        first.read(stream("0123456789"));
+        assertEquals("abcdefghij", second.read(stream("abcdefghij")).getText());
+        assertEquals("xy", third.read(stream("xy")).getText());
+
+        assertTrue(report.fits(first));
+        report.charge(first);
+        assertFalse(report.fits(second));
+        final TextAttachments rest = report.rest();
+        final TextBlock truncated = rest.read(stream("abcdefghij"));
+        assertEquals("abcde", truncated.getText());
+        assertTrue(truncated.isTruncated());
+        report.charge(rest);
+        assertFalse(report.fits(third));
+    }
+
+    @Test
+    public void shouldNotStarveSmallAttachmentOfPart() throws IOException {
+        final TextAttachments report = new TextAttachments(new AttachmentLimits(10, 100, 15, 100));
+        final TextAttachments first = report.part();
+        final TextAttachments second = report.part();
+
+        first.read(stream("0123456789"));
+        second.read(stream("xy"));
+
+        report.charge(first);
+        assertTrue(report.fits(second));
+    }
+
+    private static InputStream stream(final String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
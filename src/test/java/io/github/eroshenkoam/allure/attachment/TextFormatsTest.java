@@ -0,0 +1,47 @@
+package io.github.eroshenkoam.allure.attachment;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+
+public class TextFormatsTest {
+
+    @Test
+    public void shouldCopyPlainText() throws IOException {
+        assertEquals("first\r\n\tsecond", format(TextFormats.plain(), "first\r\n\tsecond"));
+    }
+
+    @Test
+    public void shouldPrettyPrintJson() throws IOException {
+        assertEquals(
+                "{\n  \"a\" : 1,\n  \"b\" : [ 1, 2 ]\n}",
+                format(TextFormats.json(), "{\"a\":1,\"b\":[1,2]}")
+        );
+    }
+
+    @Test
+    public void shouldIndentXmlElementsAndKeepTextInline() throws IOException {
+        assertEquals(
+                "<a x=\"1&amp;2\">\n  <b>text &lt;</b>\n  <c/>\n  <d>\n    <e>1</e>\n  </d>\n</a>",
+                format(TextFormats.xml(), "<?xml version=\"1.0\"?>"
+                        + "<a x=\"1&amp;2\"><b>text &lt;</b><c/><d><e>1</e></d></a>")
+        );
+    }
+
+    @Test(expected = IOException.class)
+    public void shouldFailOnMalformedJson() throws IOException {
+        format(TextFormats.json(), "{\"a\":");
+    }
+
+    private static String format(final TextFormatter formatter, final String input) throws IOException {
+        final StringWriter output = new StringWriter();
+        formatter.format(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), output);
+        return output.toString();
+    }
+
+}
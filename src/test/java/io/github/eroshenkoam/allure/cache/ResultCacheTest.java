@@ -0,0 +1,145 @@
+package io.github.eroshenkoam.allure.cache;
+
+import io.github.eroshenkoam.allure.source.ResultStamp;
+import io.qameta.allure.model.Attachment;
+import io.qameta.allure.model.FixtureResult;
+import io.qameta.allure.model.Label;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.StatusDetails;
+import io.qameta.allure.model.StepResult;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.model.TestResultContainer;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+public class ResultCacheTest {
+
+    private static final ResultStamp STAMP = new ResultStamp("/results/a-result.json", 100, 1000);
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private ResultCache cache;
+
+    @Before
+    public void setUp() throws IOException {
+        cache = new ResultCache(folder.getRoot().toPath());
+    }
+
+    @Test
+    public void shouldReadWrittenResult() throws IOException {
+        cache.write(STAMP, result());
+
+        final TestResult cached = cache.read(STAMP);
+
+        assertEquals("test", cached.getName());
+        assertEquals(Status.FAILED, cached.getStatus());
+        assertEquals(Long.valueOf(5), cached.getStart());
+        assertEquals("suite", cached.getLabels().get(0).getName());
+        final StepResult step = cached.getSteps().get(0);
+        assertEquals("boom", step.getStatusDetails().getMessage());
+        assertEquals("a-attachment.txt", step.getAttachments().get(0).getSource());
+        assertEquals("inner", step.getSteps().get(0).getName());
+    }
+
+    @Test
+    public void shouldMissWhenResultFileChanged() throws IOException {
+        cache.write(STAMP, result());
+
+        assertNull(cache.read(new ResultStamp(STAMP.getKey(), 101, 1000)));
+        assertNull(cache.read(new ResultStamp(STAMP.getKey(), 100, 1001)));
+        assertNull(cache.read(new ResultStamp("/results/b-result.json", 100, 1000)));
+    }
+
+    @Test
+    public void shouldDeleteTruncatedEntry() throws IOException {
+        cache.write(STAMP, result());
+        final Path entry = entry();
+        final byte[] content = Files.readAllBytes(entry);
+        Files.write(entry, Arrays.copyOf(content, content.length - 7));
+
+        assertNull(cache.read(STAMP));
+        assertFalse(Files.exists(entry));
+    }
+
+    @Test
+    public void shouldDeleteCorruptedEntry() throws IOException {
+        cache.write(STAMP, result());
+        final Path entry = entry();
+        final byte[] content = Files.readAllBytes(entry);
+        content[content.length - 3] ^= 0x5A;
+        Files.write(entry, content);
+
+        assertNull(cache.read(STAMP));
+        assertFalse(Files.exists(entry));
+    }
+
+    @Test
+    public void shouldReadWrittenContainer() throws IOException {
+        final ResultStamp stamp = new ResultStamp("/results/c-container.json", 10, 20);
+        final TestResultContainer container = new TestResultContainer()
+                .setUuid("c")
+                .setChildren(Arrays.asList("u1", "u2"))
+                .setBefores(Collections.singletonList(new FixtureResult()
+                        .setName("setup")
+                        .setStatus(Status.BROKEN)
+                        .setStatusDetails(new StatusDetails().setMessage("no db"))
+                        .setAttachments(Collections.singletonList(new Attachment().setSource("s-attachment.txt")))))
+                .setAfters(Collections.singletonList(new FixtureResult()
+                        .setName("teardown")
+                        .setSteps(Collections.singletonList(new StepResult().setName("close")))));
+        cache.writeContainer(stamp, container);
+
+        final TestResultContainer cached = cache.readContainer(stamp);
+
+        assertEquals("c", cached.getUuid());
+        assertEquals(Arrays.asList("u1", "u2"), cached.getChildren());
+        final FixtureResult before = cached.getBefores().get(0);
+        assertEquals(Status.BROKEN, before.getStatus());
+        assertEquals("no db", before.getStatusDetails().getMessage());
+        assertEquals("s-attachment.txt", before.getAttachments().get(0).getSource());
+        assertEquals("close", cached.getAfters().get(0).getSteps().get(0).getName());
+    }
+
+    private Path entry() throws IOException {
+        try (Stream<Path> files = Files.walk(folder.getRoot().toPath())) {
+            final List<Path> entries = files.filter(Files::isRegularFile).collect(Collectors.toList());
+            assertEquals(1, entries.size());
+            return entries.get(0);
+        }
+    }
+
+    private static TestResult result() {
+        final StepResult step = new StepResult()
+                .setName("outer")
+                .setStatus(Status.FAILED)
+                .setStatusDetails(new StatusDetails().setMessage("boom"))
+                .setAttachments(Collections.singletonList(new Attachment()
+                        .setName("log").setSource("a-attachment.txt").setType("text/plain")))
+                .setSteps(Collections.singletonList(new StepResult().setName("inner")));
+        return new TestResult()
+                .setUuid("u1")
+                .setName("test")
+                .setStatus(Status.FAILED)
+                .setStart(5L)
+                .setStop(9L)
+                .setLabels(Collections.singletonList(new Label().setName("suite").setValue("s")))
+                .setSteps(Collections.singletonList(step));
+    }
+
+}
@@ -0,0 +1,46 @@
+package io.github.eroshenkoam.allure.index;
+
+import io.github.eroshenkoam.allure.index.IntSorter.IntComparator;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+
+public class IntSorterTest {
+
+    @Test
+    public void shouldKeepEqualValuesInInputOrder() {
+        final int[] keys = {3, 1, 3, 2, 1, 3, 2, 1};
+        final int[] ids = {0, 1, 2, 3, 4, 5, 6, 7};
+
+        IntSorter.sort(ids, (left, right) -> Integer.compare(keys[left], keys[right]));
+
+        assertArrayEquals(new int[]{1, 4, 7, 3, 6, 0, 2, 5}, ids);
+    }
+
+    @Test
+    public void shouldSortLikeStableListSort() {
+        final Random random = new Random(42);
+        final int[] keys = new int[1000];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextInt(50);
+        }
+        final IntComparator byKey = (left, right) -> Integer.compare(keys[left], keys[right]);
+        final int[] ids = new int[keys.length];
+        final List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = keys.length - 1 - i;
+            expected.add(ids[i]);
+        }
+        expected.sort(Comparator.comparingInt(id -> keys[id]));
+
+        IntSorter.sort(ids, byKey);
+
+        assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(), ids);
+    }
+
+}
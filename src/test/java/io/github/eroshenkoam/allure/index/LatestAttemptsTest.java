@@ -0,0 +1,87 @@
+package io.github.eroshenkoam.allure.index;
+
+import io.github.eroshenkoam.allure.parser.ResultSummary;
+import io.qameta.allure.model.Status;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class LatestAttemptsTest {
+
+    private ResultIndex index;
+    private LatestAttempts attempts;
+
+    @Before
+    public void setUp() throws IOException {
+        index = new ResultIndex();
+        attempts = new LatestAttempts(index);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        index.close();
+    }
+
+    @Test
+    public void shouldSelectLatestByStopForCollidingHistoryIds() {
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+        final int first = add("Aa", 20);
+        final int other = add("BB", 10);
+        final int second = add("Aa", 30);
+        final int earlier = add("Aa", 5);
+
+        assertFalse(attempts.isLatest(first));
+        assertTrue(attempts.isLatest(second));
+        assertFalse(attempts.isLatest(earlier));
+        assertTrue(attempts.isLatest(other));
+        assertEquals(2, attempts.retries("Aa"));
+        assertEquals(0, attempts.retries("BB"));
+        assertEquals(2, attempts.retries());
+    }
+
+    @Test
+    public void shouldKeepLatestAttemptsAfterResize() {
+        final int tests = 5000;
+        final int[] latest = new int[tests];
+        for (int test = 0; test < tests; test++) {
+            add("history-" + test, 100);
+        }
+        for (int test = 0; test < tests; test++) {
+            latest[test] = add("history-" + test, 200);
+        }
+
+        for (int test = 0; test < tests; test++) {
+            assertFalse(attempts.isLatest(test));
+            assertTrue(attempts.isLatest(latest[test]));
+            assertEquals(1, attempts.retries("history-" + test));
+        }
+        assertEquals(tests, attempts.retries());
+    }
+
+    @Test
+    public void shouldKeepResultsWithoutHistoryId() {
+        final int first = add(null, 10);
+        final int second = add(null, 20);
+
+        assertTrue(attempts.isLatest(first));
+        assertTrue(attempts.isLatest(second));
+        assertEquals(0, attempts.retries(null));
+        assertEquals(0, attempts.retries());
+    }
+
+    private int add(final String historyId, final long stop) {
+        final ResultSummary summary = new ResultSummary(
+                null, "test", Status.PASSED, stop - 1, stop, historyId, null
+        );
+        final int id = index.add(0, "result-" + index.size() + ".json", summary);
+        attempts.add(id);
+        return id;
+    }
+
+}
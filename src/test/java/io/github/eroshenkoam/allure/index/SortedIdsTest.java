@@ -0,0 +1,73 @@
+package io.github.eroshenkoam.allure.index;
+
+import io.github.eroshenkoam.allure.index.IntSorter.IntComparator;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntPredicate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SortedIdsTest {
+
+    private static final int SIZE = 300;
+
+    private final int[] keys = new Random(7).ints(SIZE, 0, 20).toArray();
+    private final IntComparator byKey = (left, right) -> Integer.compare(keys[left], keys[right]);
+    private final IntPredicate selected = id -> id % 7 != 0;
+
+    @Test
+    public void shouldReturnSameOrderWhenSpilled() throws IOException {
+        final List<Integer> inMemory;
+        try (SortedIds ids = new SortedIds(SIZE, selected, byKey, SIZE)) {
+            assertFalse(ids.isSpilled());
+            inMemory = collect(ids);
+        }
+        final List<Integer> spilled;
+        try (SortedIds ids = new SortedIds(SIZE, selected, byKey, 1)) {
+            assertTrue(ids.isSpilled());
+            spilled = collect(ids);
+        }
+
+        assertEquals(inMemory, spilled);
+    }
+
+    @Test
+    public void shouldKeepIdOrderOnTiesWhenSpilled() throws IOException {
+        final List<Integer> expected = new ArrayList<>();
+        for (int id = 0; id < SIZE; id++) {
+            if (selected.test(id)) {
+                expected.add(id);
+            }
+        }
+        expected.sort((left, right) -> Integer.compare(keys[left], keys[right]));
+
+        try (SortedIds ids = new SortedIds(SIZE, selected, byKey, 16)) {
+            assertEquals(expected, collect(ids));
+        }
+    }
+
+    @Test
+    public void shouldSplitIntoChunks() throws IOException {
+        try (SortedIds ids = new SortedIds(10, id -> true, Integer::compare, 3)) {
+            final Iterator<int[]> chunks = ids.chunks(4);
+            assertEquals(4, chunks.next().length);
+            assertEquals(4, chunks.next().length);
+            assertEquals(2, chunks.next().length);
+            assertFalse(chunks.hasNext());
+        }
+    }
+
+    private static List<Integer> collect(final Iterator<Integer> ids) {
+        final List<Integer> result = new ArrayList<>();
+        ids.forEachRemaining(result::add);
+        return result;
+    }
+
+}
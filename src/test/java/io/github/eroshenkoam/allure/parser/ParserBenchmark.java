@@ -0,0 +1,109 @@
+package io.github.eroshenkoam.allure.parser;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.qameta.allure.model.TestResult;
+import org.apache.commons.io.FileUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures result files parsed per second on one thread: a new ObjectMapper per file, one shared ObjectReader
+ * and the streaming projection parser. Files are generated into a temporary directory and read from it.
+ * <p>
+ * Run with the test classpath: {@code ParserBenchmark [files] [rounds]}, defaults are 3000 files and 5 rounds,
+ * the first round is a warm-up.
+ */
+public final class ParserBenchmark {
+
+    private static final ObjectReader SHARED_READER = new ObjectMapper().readerFor(TestResult.class);
+
+    private ParserBenchmark() {
+        throw new IllegalStateException("Do not instance");
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final int count = args.length > 0 ? Integer.parseInt(args[0]) : 3000;
+        final int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        final Path directory = Files.createTempDirectory("allure-pdf-benchmark");
+        try {
+            final List<Path> files = generate(directory, count);
+            for (int round = 0; round < rounds; round++) {
+                final String prefix = round == 0 ? "warm-up " : "";
+                report(prefix + "new ObjectMapper per file", files, path -> {
+                    try (InputStream stream = Files.newInputStream(path)) {
+                        return new ObjectMapper().readValue(stream, TestResult.class);
+                    }
+                });
+                report(prefix + "shared ObjectReader", files, path -> {
+                    try (InputStream stream = Files.newInputStream(path)) {
+                        return SHARED_READER.readValue(stream);
+                    }
+                });
+                report(prefix + "projection parser", files, path -> {
+                    try (InputStream stream = Files.newInputStream(path)) {
+                        return ResultProjectionParser.read(stream);
+                    }
+                });
+            }
+        } finally {
+            FileUtils.deleteQuietly(directory.toFile());
+        }
+    }
+
+    private static void report(final String name, final List<Path> files, final Parser parser) throws IOException {
+        final long start = System.nanoTime();
+        int parsed = 0;
+        for (final Path file : files) {
+            if (parser.parse(file) != null) {
+                parsed++;
+            }
+        }
+        final double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.println(String.format("%-40s %10.0f files/s", name, parsed / seconds));
+    }
+
+    private static List<Path> generate(final Path directory, final int count) throws IOException {
+        final List<Path> files = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            final Path file = directory.resolve(String.format("%05d-result.json", i));
+            try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                writer.write(String.format("{\"uuid\":\"%1$05d\",\"historyId\":\"h%1$d\",\"name\":\"test %1$d\","
+                        + "\"fullName\":\"com.example.Test.test%1$d\",\"status\":\"passed\","
+                        + "\"description\":\"%2$s\",\"start\":%1$d,\"stop\":%3$d,"
+                        + "\"labels\":[{\"name\":\"suite\",\"value\":\"suite %4$d\"},{\"name\":\"host\",\"value\":\"ci\"}],"
+                        + "\"links\":[{\"name\":\"issue\",\"url\":\"https://example.com/%1$d\"}],"
+                        + "\"parameters\":[{\"name\":\"value\",\"value\":\"%1$d\"}],"
+                        + "\"steps\":[{\"name\":\"step one\",\"status\":\"passed\",\"steps\":[],\"attachments\":[]},"
+                        + "{\"name\":\"step two\",\"status\":\"passed\",\"statusDetails\":{\"message\":\"ok\","
+                        + "\"trace\":\"%2$s\"},\"attachments\":[{\"name\":\"log\",\"source\":\"%1$05d-attachment.txt\","
+                        + "\"type\":\"text/plain\"}]}]}", i, description(i), i + 10, i % 20));
+            }
+            files.add(file);
+        }
+        return files;
+    }
+
+    private static String description(final int seed) {
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 40; i++) {
+            builder.append("line ").append(seed).append(' ').append(i).append("\\n");
+        }
+        return builder.toString();
+    }
+
+    @FunctionalInterface
+    private interface Parser {
+
+        TestResult parse(Path path) throws IOException;
+
+    }
+
+}
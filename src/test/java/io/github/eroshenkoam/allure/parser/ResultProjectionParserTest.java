@@ -0,0 +1,96 @@
+package io.github.eroshenkoam.allure.parser;
+
+import io.qameta.allure.model.FixtureResult;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.StepResult;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.model.TestResultContainer;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ResultProjectionParserTest {
+
+    @Test
+    public void shouldReadRenderedFields() throws IOException {
+        final TestResult result = ResultProjectionParser.read(json("{\"uuid\":\"u1\",\"historyId\":\"h1\","
+                + "\"name\":\"test\",\"status\":\"failed\",\"start\":10,\"stop\":20,"
+                + "\"labels\":[{\"name\":\"suite\",\"value\":\"s\"}],"
+                + "\"parameters\":[{\"name\":\"p\",\"value\":\"v\"}],"
+                + "\"steps\":[{\"name\":\"outer\",\"status\":\"broken\","
+                + "\"statusDetails\":{\"message\":\"boom\",\"trace\":\"t\"},"
+                + "\"attachments\":[{\"name\":\"log\",\"source\":\"a.txt\",\"type\":\"text/plain\"}],"
+                + "\"steps\":[{\"name\":\"inner\",\"status\":\"passed\"}]}]}"));
+
+        assertEquals("u1", result.getUuid());
+        assertEquals("h1", result.getHistoryId());
+        assertEquals("test", result.getName());
+        assertEquals(Status.FAILED, result.getStatus());
+        assertEquals(Long.valueOf(10), result.getStart());
+        assertEquals(Long.valueOf(20), result.getStop());
+        assertEquals("s", result.getLabels().get(0).getValue());
+        assertEquals("v", result.getParameters().get(0).getValue());
+
+        final StepResult outer = result.getSteps().get(0);
+        assertEquals(Status.BROKEN, outer.getStatus());
+        assertEquals("boom", outer.getStatusDetails().getMessage());
+        assertEquals("a.txt", outer.getAttachments().get(0).getSource());
+        assertEquals("text/plain", outer.getAttachments().get(0).getType());
+        assertEquals("inner", outer.getSteps().get(0).getName());
+    }
+
+    @Test
+    public void shouldSkipFieldsThatAreNotRendered() throws IOException {
+        final TestResult result = ResultProjectionParser.read(json("{\"description\":\"d\","
+                + "\"links\":[{\"name\":\"l\",\"url\":\"u\"}],\"extra\":{\"nested\":[1,{\"a\":[]}]},"
+                + "\"name\":\"test\",\"labels\":null}"));
+
+        assertEquals("test", result.getName());
+        assertNull(result.getDescription());
+        assertTrue(result.getLinks().isEmpty());
+        assertTrue(result.getLabels().isEmpty());
+    }
+
+    @Test
+    public void shouldReadUnknownStatusAsNull() throws IOException {
+        final TestResult result = ResultProjectionParser.read(json("{\"status\":\"unknown-status\",\"start\":null}"));
+
+        assertNull(result.getStatus());
+        assertNull(result.getStart());
+    }
+
+    @Test
+    public void shouldReadContainerFixtures() throws IOException {
+        final TestResultContainer container = ResultProjectionParser.readContainer(json("{\"uuid\":\"c1\","
+                + "\"children\":[\"u1\",\"u2\"],\"befores\":[{\"name\":\"setup\",\"status\":\"passed\"}],"
+                + "\"afters\":[{\"name\":\"teardown\",\"steps\":[{\"name\":\"close\"}]}],\"start\":1}"));
+
+        assertEquals("c1", container.getUuid());
+        assertEquals(2, container.getChildren().size());
+        final FixtureResult before = container.getBefores().get(0);
+        assertEquals("setup", before.getName());
+        assertEquals("close", container.getAfters().get(0).getSteps().get(0).getName());
+    }
+
+    @Test(expected = IOException.class)
+    public void shouldRejectNonObjectResult() throws IOException {
+        ResultProjectionParser.read(json("[]"));
+    }
+
+    @Test(expected = IOException.class)
+    public void shouldRejectTruncatedResult() throws IOException {
+        ResultProjectionParser.read(json("{\"name\":\"test\",\"steps\":[{\"name\""));
+    }
+
+    private static InputStream json(final String value) {
+        return new ByteArrayInputStream(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
@@ -0,0 +1,60 @@
+package io.github.eroshenkoam.allure.pipeline;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class MergingIteratorTest {
+
+    @Test
+    public void shouldMergeSortedSources() {
+        final List<Iterator<Integer>> sources = Arrays.asList(
+                Arrays.asList(1, 4, 9).iterator(),
+                Collections.<Integer>emptyIterator(),
+                Arrays.asList(2, 3, 10, 11).iterator(),
+                Arrays.asList(5).iterator()
+        );
+
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5, 9, 10, 11), drain(new MergingIterator<>(sources, Integer::compare)));
+    }
+
+    @Test
+    public void shouldResolveTiesBySourcePosition() {
+        final Comparator<String> byFirstChar = Comparator.comparingInt(value -> value.charAt(0));
+        final List<Iterator<String>> sources = Arrays.asList(
+                Arrays.asList("a-first", "b-first").iterator(),
+                Arrays.asList("a-second", "b-second").iterator()
+        );
+
+        assertEquals(
+                Arrays.asList("a-first", "a-second", "b-first", "b-second"),
+                drain(new MergingIterator<>(sources, byFirstChar))
+        );
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void shouldFailAfterLastElement() {
+        final MergingIterator<Integer> iterator = new MergingIterator<>(
+                Collections.<Iterator<Integer>>emptyList(), Integer::compare
+        );
+
+        assertFalse(iterator.hasNext());
+        iterator.next();
+    }
+
+    private static <T> List<T> drain(final Iterator<T> iterator) {
+        final List<T> values = new ArrayList<>();
+        iterator.forEachRemaining(values::add);
+        return values;
+    }
+
+}
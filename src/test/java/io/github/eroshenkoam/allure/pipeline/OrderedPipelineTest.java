@@ -0,0 +1,104 @@
+package io.github.eroshenkoam.allure.pipeline;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+public class OrderedPipelineTest {
+
+    @Test
+    public void shouldReturnResultsInSourceOrder() throws IOException {
+        final List<Integer> sources = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            sources.add(i);
+        }
+        final List<Integer> results = new ArrayList<>();
+        try (OrderedPipeline<Integer, Integer> pipeline = new OrderedPipeline<>("test", 4, 8)) {
+            final OrderedPipeline.Results<Integer> squares = pipeline.process(sources.iterator(), value -> {
+                Thread.sleep(ThreadLocalRandom.current().nextInt(3));
+                return value * value;
+            });
+            while (squares.hasNext()) {
+                results.add(squares.next());
+            }
+        }
+        for (int i = 0; i < sources.size(); i++) {
+            assertEquals(Integer.valueOf(i * i), results.get(i));
+        }
+    }
+
+    @Test
+    public void shouldRethrowTaskFailureAsIOException() throws IOException {
+        try (OrderedPipeline<String, String> pipeline = new OrderedPipeline<>("test", 2, 2)) {
+            final OrderedPipeline.Results<String> results = pipeline.process(
+                    Arrays.asList("ok", "broken").iterator(), value -> {
+                        if ("broken".equals(value)) {
+                            throw new IOException("broken file");
+                        }
+                        return value;
+                    }
+            );
+            assertEquals("ok", results.next());
+            try {
+                results.next();
+                fail("Task failure should be rethrown");
+            } catch (IOException e) {
+                assertEquals("broken file", e.getMessage());
+            }
+        }
+    }
+
+    @Test(timeout = 10_000)
+    public void shouldRethrowErrorOfSourceIterator() throws IOException {
+        final Iterator<Integer> sources = new Iterator<Integer>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Integer next() {
+                if (next == 3) {
+                    throw new StackOverflowError();
+                }
+                return next++;
+            }
+        };
+        try (OrderedPipeline<Integer, Integer> pipeline = new OrderedPipeline<>("test", 2, 2)) {
+            final OrderedPipeline.Results<Integer> results = pipeline.process(sources, value -> value);
+            assertEquals(Integer.valueOf(0), results.next());
+            assertEquals(Integer.valueOf(1), results.next());
+            assertEquals(Integer.valueOf(2), results.next());
+            try {
+                results.next();
+                fail("Source error should be rethrown");
+            } catch (StackOverflowError e) {
+                assertFalse(results.hasNext());
+            }
+        }
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void shouldEndAfterLastResult() throws IOException {
+        try (OrderedPipeline<Integer, Integer> pipeline = new OrderedPipeline<>("test", 1, 1)) {
+            final OrderedPipeline.Results<Integer> results = pipeline.process(
+                    Arrays.asList(1).iterator(), value -> value
+            );
+            assertEquals(Integer.valueOf(1), results.next());
+            results.next();
+        }
+    }
+
+}
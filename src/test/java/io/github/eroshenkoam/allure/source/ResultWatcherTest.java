@@ -0,0 +1,133 @@
+package io.github.eroshenkoam.allure.source;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ResultWatcherTest {
+
+    private static final long DEBOUNCE = 300;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path root;
+    private DirectorySource source;
+    private ResultWatcher watcher;
+
+    @Before
+    public void setUp() throws IOException {
+        root = folder.getRoot().toPath();
+        final ResultsScanner scanner = new ResultsScanner(ResultsScanner.UNLIMITED_DEPTH, "-result.json");
+        source = new DirectorySource(root, scanner);
+        watcher = new ResultWatcher(Collections.singletonList(source), scanner, ResultsScanner.UNLIMITED_DEPTH);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        watcher.close();
+    }
+
+    @Test(timeout = 30_000)
+    public void shouldReportNewResultFilesOnly() throws Exception {
+        assertFalse(watcher.isEmpty());
+        write(root.resolve("a-attachment.txt"), "log");
+        write(root.resolve("a-result.json"), "{}");
+
+        assertEquals(Collections.singletonList("a-result.json"), poll());
+    }
+
+    @Test(timeout = 30_000)
+    public void shouldListDirectoriesCreatedLater() throws Exception {
+        final Path nested = Files.createDirectories(root.resolve("build.2"));
+        write(nested.resolve("b-result.json"), "{}");
+
+        assertTrue(poll().contains("build.2/b-result.json"));
+
+        write(nested.resolve("c-result.json"), "{}");
+        assertEquals(Collections.singletonList("build.2/c-result.json"), poll());
+    }
+
+    @Test(timeout = 30_000)
+    public void shouldReportModifiedResultAgain() throws Exception {
+        final Path result = root.resolve("d-result.json");
+        write(result, "{\"name\":");
+        assertEquals(Collections.singletonList("d-result.json"), poll());
+
+        Files.write(result, "\"d\"}".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        assertEquals(Collections.singletonList("d-result.json"), poll());
+    }
+
+    @Test
+    public void shouldNotWatchArchives() throws IOException {
+        final ResultSource archive = new ResultSource() {
+            @Override
+            public String getName() {
+                return "results.zip";
+            }
+
+            @Override
+            public Stream<String> resultEntries() {
+                return Stream.empty();
+            }
+
+            @Override
+            public InputStream open(final String entry) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public ResultStamp stamp(final String entry) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public InputStream openAttachment(final String attachment) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public FileRegion attachmentRegion(final String attachment) {
+                return null;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        try (ResultWatcher archives = new ResultWatcher(
+                Collections.singletonList(archive), new ResultsScanner(1, "-result.json"), 1)) {
+            assertTrue(archives.isEmpty());
+        }
+    }
+
+    private List<String> poll() throws IOException, InterruptedException {
+        final Map<ResultSource, List<String>> changed = watcher.poll(DEBOUNCE);
+        assertEquals(Collections.singleton(source), changed.keySet());
+        final List<String> entries = changed.get(source);
+        entries.replaceAll(entry -> entry.replace('\\', '/'));
+        return entries;
+    }
+
+    private static void write(final Path path, final String content) throws IOException {
+        Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
@@ -0,0 +1,97 @@
+package io.github.eroshenkoam.allure.source;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ResultsScannerTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void shouldListMatchingFilesInNestedDirectories() throws IOException {
+        final Path root = folder.getRoot().toPath();
+        touch(root.resolve("a-result.json"));
+        touch(root.resolve("b-container.json"));
+        touch(root.resolve("c-attachment.txt"));
+        touch(root.resolve("build.v1/d-result.json"));
+        touch(root.resolve("nested/deeper/e-result.json"));
+
+        final ResultsScanner scanner = new ResultsScanner(ResultsScanner.UNLIMITED_DEPTH, "-result.json");
+
+        assertEquals(
+                Arrays.asList("a-result.json", "build.v1/d-result.json", "nested/deeper/e-result.json"),
+                scan(scanner, root)
+        );
+    }
+
+    @Test
+    public void shouldRespectMaxDepth() throws IOException {
+        final Path root = folder.getRoot().toPath();
+        touch(root.resolve("a-result.json"));
+        touch(root.resolve("nested/b-result.json"));
+        touch(root.resolve("nested/deeper/c-result.json"));
+
+        assertEquals(Arrays.asList("a-result.json"), scan(new ResultsScanner(1, "-result.json"), root));
+        assertEquals(
+                Arrays.asList("a-result.json", "nested/b-result.json"),
+                scan(new ResultsScanner(2, "-result.json"), root)
+        );
+    }
+
+    @Test
+    public void shouldNotDescendIntoAttachmentDirectories() throws IOException {
+        final Path root = folder.getRoot().toPath();
+        touch(root.resolve("x-attachment/hidden-result.json"));
+        touch(root.resolve("y-attachment.dir/hidden-result.json"));
+
+        assertTrue(scan(new ResultsScanner(ResultsScanner.UNLIMITED_DEPTH, "-result.json"), root).isEmpty());
+    }
+
+    @Test
+    public void shouldTellDirectoryCandidatesByName() {
+        assertFalse(ResultsScanner.mayBeDirectory("abc-attachment"));
+        assertFalse(ResultsScanner.mayBeDirectory("abc-attachment.png"));
+        assertFalse(ResultsScanner.mayBeDirectory("abc-result.json"));
+        assertFalse(ResultsScanner.mayBeDirectory("environment.properties"));
+        assertTrue(ResultsScanner.mayBeDirectory("build.v1"));
+        assertTrue(ResultsScanner.mayBeDirectory("my-attachments"));
+    }
+
+    @Test
+    public void shouldAcceptArchiveEntriesWithinDepth() {
+        final ResultsScanner scanner = new ResultsScanner(2, "-result.json");
+
+        assertTrue(scanner.accepts("a-result.json"));
+        assertTrue(scanner.accepts("nested\\b-result.json"));
+        assertFalse(scanner.accepts("nested/deeper/c-result.json"));
+        assertFalse(scanner.accepts("nested/c-container.json"));
+    }
+
+    private static List<String> scan(final ResultsScanner scanner, final Path root) throws IOException {
+        try (Stream<Path> files = scanner.scan(root)) {
+            return files.map(path -> root.relativize(path).toString().replace('\\', '/'))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static void touch(final Path path) throws IOException {
+        Files.createDirectories(path.getParent());
+        Files.write(path, new byte[]{'{', '}'});
+    }
+
+}
@@ -0,0 +1,147 @@
+package io.github.eroshenkoam.allure.source;
+
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.apache.commons.compress.compressors.gzip.GzipCompressorOutputStream;
+import org.apache.commons.io.IOUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TarSourceTest {
+
+    private static final String RESULT = "results/a-result.json";
+    private static final String CONTAINER = "results/b-container.json";
+    private static final String FIRST = "results/first-attachment.txt";
+    private static final String SECOND = "results/second-attachment.bin";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void shouldIndexOnlyResultEntries() throws IOException {
+        try (TarSource source = new TarSource(archive("results.tar.gz", true), true, scanner())) {
+            assertEquals(
+                    Arrays.asList(RESULT, CONTAINER),
+                    source.resultEntries().collect(Collectors.toList())
+            );
+            assertEquals("{\"name\":\"a\"}", read(source.open(RESULT)));
+            assertEquals(12, source.stamp(RESULT).getSize());
+        }
+    }
+
+    @Test
+    public void shouldReadGzipAttachmentsWithoutPrefetch() throws IOException {
+        try (TarSource source = new TarSource(archive("results.tar.gz", true), true, scanner())) {
+            assertTrue(source.isSequential());
+            assertEquals(text(FIRST), read(source.openAttachment("first-attachment.txt")));
+            assertArrayEquals(binary(), bytes(source.openAttachment("second-attachment.bin")));
+            assertNull(source.attachmentRegion("second-attachment.bin"));
+        }
+    }
+
+    @Test
+    public void shouldReadPrefetchedGzipAttachmentsInAnyOrder() throws IOException {
+        try (TarSource source = new TarSource(archive("results.tar.gz", true), true, scanner())) {
+            source.prefetch(Arrays.asList("second-attachment.bin", "first-attachment.txt", "missing-attachment"));
+            source.prefetch(Collections.singletonList("second-attachment.bin"));
+
+            assertArrayEquals(binary(), bytes(source.openAttachment("second-attachment.bin")));
+            assertEquals(text(FIRST), read(source.openAttachment("first-attachment.txt")));
+            assertEquals("{\"name\":\"a\"}", read(source.open(RESULT)));
+        }
+    }
+
+    @Test
+    public void shouldMapAttachmentsOfPlainTar() throws IOException {
+        final Path archive = archive("results.tar", false);
+        try (TarSource source = new TarSource(archive, false, scanner())) {
+            assertFalse(source.isSequential());
+            assertEquals(text(FIRST), read(source.openAttachment("first-attachment.txt")));
+
+            final FileRegion region = source.attachmentRegion("second-attachment.bin");
+            assertEquals(archive, region.getFile());
+            final ByteBuffer buffer = ByteBuffer.allocate((int) region.getLength());
+            try (FileChannel channel = FileChannel.open(archive, StandardOpenOption.READ)) {
+                channel.read(buffer, region.getOffset());
+            }
+            assertArrayEquals(binary(), buffer.array());
+        }
+    }
+
+    @Test(expected = NoSuchFileException.class)
+    public void shouldFailOnMissingAttachment() throws IOException {
+        try (TarSource source = new TarSource(archive("results.tar.gz", true), true, scanner())) {
+            source.openAttachment("missing-attachment.txt");
+        }
+    }
+
+    private Path archive(final String name, final boolean gzip) throws IOException {
+        final Path archive = folder.getRoot().toPath().resolve(name);
+        try (OutputStream file = Files.newOutputStream(archive);
+             OutputStream stream = gzip ? new GzipCompressorOutputStream(file) : file;
+             TarArchiveOutputStream tar = new TarArchiveOutputStream(stream)) {
+            add(tar, FIRST, text(FIRST).getBytes(StandardCharsets.UTF_8));
+            add(tar, RESULT, "{\"name\":\"a\"}".getBytes(StandardCharsets.UTF_8));
+            add(tar, SECOND, binary());
+            add(tar, CONTAINER, "{\"uuid\":\"b\"}".getBytes(StandardCharsets.UTF_8));
+        }
+        return archive;
+    }
+
+    private static void add(final TarArchiveOutputStream tar, final String name, final byte[] content)
+            throws IOException {
+        final TarArchiveEntry entry = new TarArchiveEntry(name);
+        entry.setSize(content.length);
+        tar.putArchiveEntry(entry);
+        tar.write(content);
+        tar.closeArchiveEntry();
+    }
+
+    private static ResultsScanner scanner() {
+        return new ResultsScanner(ResultsScanner.UNLIMITED_DEPTH, "-result.json", "-container.json");
+    }
+
+    private static String text(final String name) {
+        return String.join("\n", Collections.nCopies(100, "line of " + name));
+    }
+
+    private static byte[] binary() {
+        final byte[] content = new byte[70_000];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) (i * 31);
+        }
+        return content;
+    }
+
+    private static String read(final InputStream stream) throws IOException {
+        return new String(bytes(stream), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] bytes(final InputStream stream) throws IOException {
+        try (InputStream input = stream) {
+            return IOUtils.toByteArray(input);
+        }
+    }
+
+}
@@ -0,0 +1,91 @@
+package io.github.eroshenkoam.allure.source;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ZipSourceTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void shouldListResultsAndResolveAttachmentsByName() throws IOException {
+        try (ZipSource source = new ZipSource(archive(), scanner())) {
+            assertEquals(
+                    Arrays.asList("out/a-result.json", "out/nested/b-container.json"),
+                    source.resultEntries().sorted().collect(Collectors.toList())
+            );
+            assertEquals("{\"name\":\"a\"}", read(source.open("out/a-result.json")));
+            assertEquals("log", read(source.openAttachment("c-attachment.txt")));
+            assertEquals("log", read(source.openAttachment("other/dir/c-attachment.txt")));
+            assertNull(source.attachmentRegion("c-attachment.txt"));
+            assertFalse(source.isSequential());
+        }
+    }
+
+    @Test(expected = NoSuchFileException.class)
+    public void shouldFailOnMissingResult() throws IOException {
+        try (ZipSource source = new ZipSource(archive(), scanner())) {
+            source.stamp("out/missing-result.json");
+        }
+    }
+
+    @Test
+    public void shouldDispatchArchivesByExtension() throws IOException {
+        final Path zip = archive();
+        final Path tgz = folder.getRoot().toPath().resolve("results.TGZ");
+        Files.write(tgz, new byte[0]);
+
+        try (ResultSource source = ResultSources.open(zip, scanner())) {
+            assertEquals(ZipSource.class, source.getClass());
+        }
+        assertTrue(ResultSources.isSupported(tgz));
+        assertFalse(ResultSources.isSupported(folder.getRoot().toPath().resolve("results.rar")));
+        assertEquals("c-attachment.txt", ResultSources.baseName("out\\nested/c-attachment.txt"));
+    }
+
+    private Path archive() throws IOException {
+        final Path archive = folder.getRoot().toPath().resolve("results.zip");
+        try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(archive))) {
+            add(zip, "out/a-result.json", "{\"name\":\"a\"}");
+            add(zip, "out/nested/b-container.json", "{\"uuid\":\"b\"}");
+            add(zip, "out/c-attachment.txt", "log");
+        }
+        return archive;
+    }
+
+    private static void add(final ZipOutputStream zip, final String name, final String content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(content.getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+    }
+
+    private static ResultsScanner scanner() {
+        return new ResultsScanner(ResultsScanner.UNLIMITED_DEPTH, "-result.json", "-container.json");
+    }
+
+    private static String read(final InputStream stream) throws IOException {
+        try (InputStream input = stream) {
+            return IOUtils.toString(input, StandardCharsets.UTF_8);
+        }
+    }
+
+}